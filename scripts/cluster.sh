@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Starts N application nodes on this host with the cluster profile (default 2), sharing one H2 TCP server.
+# Node 1 hosts the H2 server and owns the schema; the others start once it is healthy.
+#
+#   mvn -B package -DskipTests && scripts/cluster.sh 3
+#
+# Node i listens on port 8080 + i and logs to logs/node-i.log; Ctrl+C stops all nodes.
+set -euo pipefail
+
+NODES="${1:-2}"
+JAR="$(ls target/aic7demo-*.jar | grep -v original | head -n 1)"
+H2_PORT="${H2_PORT:-9092}"
+mkdir -p logs
+
+pids=()
+trap 'kill "${pids[@]}" 2>/dev/null; wait' INT TERM EXIT
+
+start_node() {
+  local i="$1"; shift
+  java -jar "$JAR" \
+    --spring.profiles.active=cluster \
+    --server.port=$((8080 + i)) \
+    --cadastro.cluster.node-id="node-$i" \
+    --cadastro.cluster.h2-server.port="$H2_PORT" \
+    "$@" > "logs/node-$i.log" 2>&1 &
+  pids+=("$!")
+}
+
+await_health() {
+  local port="$1"
+  for _ in $(seq 1 120); do
+    if curl -fs "http://localhost:$port/actuator/health" > /dev/null; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Node on port $port did not become healthy" >&2
+  return 1
+}
+
+start_node 1 --cadastro.cluster.schema-owner=true --cadastro.cluster.h2-server.enabled=true
+await_health 8081
+echo "node-1 up on http://localhost:8081 (H2 TCP server on port $H2_PORT)"
+
+for i in $(seq 2 "$NODES"); do
+  start_node "$i"
+done
+for i in $(seq 2 "$NODES"); do
+  await_health $((8080 + i))
+  echo "node-$i up on http://localhost:$((8080 + i))"
+done
+
+wait
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Compares cold-start times of the plain jar (baseline) with the extracted jar launched with the AppCDS archive and
+# the Spring AOT bean definitions (optimized). Both artifacts come from the startup profile:
+#
+#   mvn -B package -Pstartup -DskipTests && scripts/startup-report.sh 5
+#
+# Each launch runs until Spring Boot logs "Started Application" and is then stopped. The time reported is the
+# JVM's "process running for" value, so it includes the JVM boot. The report goes to target/startup-report.md.
+set -euo pipefail
+
+RUNS="${1:-5}"
+JAR="$(ls target/aic7demo-*.jar | head -n 1)"
+CDS_DIR="target/cds"
+CDS_JAR="$CDS_DIR/$(basename "$JAR")"
+ARCHIVE="$CDS_DIR/application.jsa"
+REPORT="target/startup-report.md"
+LOG="$(mktemp)"
+trap 'rm -f "$LOG"' EXIT
+
+if [[ ! -f "$CDS_JAR" || ! -f "$ARCHIVE" ]]; then
+  echo "$ARCHIVE not found; build with: mvn -B package -Pstartup" >&2
+  exit 1
+fi
+
+# Prints the seconds reported by one launch of "$@".
+launch() {
+  "$@" --server.port=0 --spring.datasource.url=jdbc:h2:mem:startup > "$LOG" 2>&1 &
+  local pid="$!"
+  for _ in $(seq 1 1200); do
+    if grep -q "Started Application" "$LOG"; then
+      break
+    fi
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Launch failed, see output below" >&2
+      cat "$LOG" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  sed -n 's/.*process running for \([0-9.]*\).*/\1/p' "$LOG" | head -n 1
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+measure() {
+  local name="$1"; shift
+  local times=()
+  for i in $(seq 1 "$RUNS"); do
+    times+=("$(launch "$@")")
+    echo "$name run $i: ${times[-1]} s" >&2
+  done
+  printf '%s\n' "${times[@]}" | median
+}
+
+baseline=$(measure baseline java -jar "$JAR")
+optimized=$(measure optimized java -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true -jar "$CDS_JAR")
+
+{
+  echo "# Startup report"
+  echo
+  echo "$(date -u +%Y-%m-%dT%H:%M:%SZ), $(java -version 2>&1 | head -n 1), median of $RUNS runs"
+  echo
+  echo "| Launch | Startup (s) |"
+  echo "|---|---|"
+  echo "| baseline (\`java -jar\`) | $baseline |"
+  echo "| AppCDS + Spring AOT | $optimized |"
+  echo
+  awk -v b="$baseline" -v o="$optimized" 'BEGIN { printf "Speedup: %.2fx (%.0f%% less)\n", b / o, (1 - o / b) * 100 }'
+} | tee "$REPORT"
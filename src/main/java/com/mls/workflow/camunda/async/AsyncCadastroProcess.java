@@ -0,0 +1,152 @@
+package com.mls.workflow.camunda.async;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mls.workflow.camunda.serialization.CadastroBinarySerializer;
+import com.mls.workflow.core.dto.v1.AsyncRequestStatusDto;
+import com.mls.workflow.jfr.ProcessStartEvent;
+import jakarta.annotation.PostConstruct;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Asynchronous variant of the CRUD process, behind {@code Prefer: respond-async} ({@code cadastro.async.enabled}).
+ * <p>
+ * At startup the CRUD BPMN is deployed a second time as {@link #PROCESS_DEFINITION_KEY}, with an
+ * {@code asyncBefore} on its first task and {@link AsyncResultStore} as end listener. Starting an instance then only
+ * inserts a job and returns; the job executor runs the whole process later, in a single job. Only one boundary is
+ * added: the tasks hand their values to each other as transient variables, which do not survive a wait state.
+ * <p>
+ * The inputs must outlive the request, so unlike the synchronous process they are stored as a regular variable
+ * until the instance ends. Request payloads are kept as plain maps, which the delegates convert as usual. With
+ * {@code cadastro.serialization.binary.enabled} the inputs are stored in the compact binary format.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.async", name = "enabled", havingValue = "true")
+public class AsyncCadastroProcess {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncCadastroProcess.class);
+
+    public static final String PROCESS_DEFINITION_KEY = "DemoAIProjectCRUDProcessAsync";
+
+    private static final String SOURCE_PROCESS_KEY = "DemoAIProjectCRUDProcess";
+    private static final String SOURCE_RESOURCE = "bpmn/process.bpmn";
+    private static final String FIRST_TASK_ID = "IdentificarTarefaTask";
+
+    private final RepositoryService repositoryService;
+    private final RuntimeService runtimeService;
+    private final ManagementService managementService;
+    private final AsyncResultStore resultStore;
+    private final ObjectMapper objectMapper;
+    private final boolean binarySerialization;
+
+    public AsyncCadastroProcess(RepositoryService repositoryService,
+                                RuntimeService runtimeService,
+                                ManagementService managementService,
+                                AsyncResultStore resultStore,
+                                ObjectMapper objectMapper,
+                                @Value("${cadastro.serialization.binary.enabled:false}") boolean binarySerialization) {
+        this.repositoryService = repositoryService;
+        this.runtimeService = runtimeService;
+        this.managementService = managementService;
+        this.resultStore = resultStore;
+        this.objectMapper = objectMapper;
+        this.binarySerialization = binarySerialization;
+    }
+
+    @PostConstruct
+    void deploy() {
+        BpmnModelInstance model;
+        try (InputStream source = new ClassPathResource(SOURCE_RESOURCE).getInputStream()) {
+            model = Bpmn.readModelFromStream(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + SOURCE_RESOURCE, e);
+        }
+
+        Process process = model.getModelElementById(SOURCE_PROCESS_KEY);
+        process.setId(PROCESS_DEFINITION_KEY);
+        process.setName(process.getName() + " (assíncrono)");
+
+        ServiceTask firstTask = model.getModelElementById(FIRST_TASK_ID);
+        firstTask.setCamundaAsyncBefore(true);
+
+        ExtensionElements extensionElements = process.getExtensionElements();
+        if (extensionElements == null) {
+            extensionElements = model.newInstance(ExtensionElements.class);
+            process.setExtensionElements(extensionElements);
+        }
+        CamundaExecutionListener resultListener = extensionElements.addExtensionElement(CamundaExecutionListener.class);
+        resultListener.setCamundaEvent("end");
+        resultListener.setCamundaDelegateExpression("${asyncResultStore}");
+
+        // Duplicate filtering keeps restarts from creating a new version while the BPMN is unchanged.
+        repositoryService.createDeployment()
+                .name(PROCESS_DEFINITION_KEY)
+                .addModelInstance("process-async.bpmn", model)
+                .enableDuplicateFiltering(true)
+                .deploy();
+        LOG.info("Deployed {} with an async continuation before {}", PROCESS_DEFINITION_KEY, FIRST_TASK_ID);
+    }
+
+    /**
+     * Queues a run of the CRUD process and returns its pending status; the request ID is the process instance ID.
+     */
+    public AsyncRequestStatusDto start(String businessKey, Map<String, Object> processVariables) {
+        Map<String, Object> inputs = new HashMap<>(processVariables);
+        inputs.computeIfPresent("payload", (name, payload) -> objectMapper.convertValue(payload, Map.class));
+        Object storedInputs = binarySerialization ? CadastroBinarySerializer.objectValue(inputs) : inputs;
+
+        String processInstanceId = ProcessStartEvent.record(PROCESS_DEFINITION_KEY, businessKey,
+                () -> runtimeService.createProcessInstanceByKey(PROCESS_DEFINITION_KEY)
+                        .businessKey(businessKey)
+                        .setVariables(Variables.createVariables().putValue("processVariables", storedInputs))
+                        .execute())
+                .getId();
+        return AsyncRequestStatusDto.pending(processInstanceId);
+    }
+
+    /**
+     * The stored result when the run has completed, PENDING while its instance is still running (FAILED once its
+     * job has run out of retries), empty when the ID is unknown or the result has expired.
+     */
+    public Optional<AsyncRequestStatusDto> status(String requestId) {
+        Optional<AsyncRequestStatusDto> completed = resultStore.find(requestId);
+        if (completed.isPresent()) {
+            return completed;
+        }
+
+        boolean running = runtimeService.createProcessInstanceQuery().processInstanceId(requestId).count() > 0;
+        if (!running) {
+            // The instance may have ended between the two lookups.
+            return resultStore.find(requestId);
+        }
+
+        Job failedJob = managementService.createJobQuery().processInstanceId(requestId).noRetriesLeft().singleResult();
+        if (failedJob != null) {
+            return Optional.of(new AsyncRequestStatusDto(requestId, AsyncRequestStatusDto.FAILED, 500,
+                    failedJob.getExceptionMessage(), null));
+        }
+        return Optional.of(AsyncRequestStatusDto.pending(requestId));
+    }
+}
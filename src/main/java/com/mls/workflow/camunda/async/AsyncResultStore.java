@@ -0,0 +1,64 @@
+package com.mls.workflow.camunda.async;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.AsyncRequestStatusDto;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Results of asynchronous requests, kept for {@code cadastro.async.result-ttl} after completion (and at most
+ * {@code max-results} of them).
+ * <p>
+ * Registered as the end listener of {@link AsyncCadastroProcess#PROCESS_DEFINITION_KEY}: when an instance ends, the
+ * transient outputs of the delegates are still in scope and are stored under the process instance ID once the job's
+ * transaction commits.
+ */
+@Component("asyncResultStore")
+@ConditionalOnProperty(prefix = "cadastro.async", name = "enabled", havingValue = "true")
+public class AsyncResultStore implements ExecutionListener {
+
+    private final Cache<String, AsyncRequestStatusDto> results;
+
+    public AsyncResultStore(@Value("${cadastro.async.result-ttl:10m}") Duration resultTtl,
+                            @Value("${cadastro.async.max-results:100000}") long maxResults) {
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(resultTtl)
+                .maximumSize(maxResults)
+                .build();
+    }
+
+    @Override
+    public void notify(DelegateExecution execution) {
+        AsyncRequestStatusDto completed = new AsyncRequestStatusDto(
+                execution.getProcessInstanceId(),
+                AsyncRequestStatusDto.COMPLETED,
+                (Integer) execution.getVariable("statusCode"),
+                (String) execution.getVariable("message"),
+                (CadastroDto) execution.getVariable("result"));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    results.put(completed.getRequestId(), completed);
+                }
+            });
+        } else {
+            results.put(completed.getRequestId(), completed);
+        }
+    }
+
+    public Optional<AsyncRequestStatusDto> find(String requestId) {
+        return Optional.ofNullable(results.getIfPresent(requestId));
+    }
+}
@@ -0,0 +1,229 @@
+package com.mls.workflow.camunda.batch;
+
+import com.mls.workflow.jfr.ProcessStartEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces concurrent process starts into a single engine transaction.
+ * <p>
+ * Callers block in {@link #submit} while a dispatcher thread drains the queue: it takes whatever is waiting,
+ * lingers up to {@code max-wait} for more (never beyond {@code max-size}) and starts all instances inside one
+ * Spring transaction, which the engine joins. One commit, and one H2 fsync, then covers the whole batch.
+ * If the shared transaction fails, every request of the batch is retried in its own transaction so that each
+ * caller receives exactly its own result or exception.
+ * <p>
+ * A caller waits at most {@code max-wait} plus {@code start-timeout}. A request still queued by then is withdrawn
+ * and rejected. One already taken by the dispatcher may still commit, so its caller gets an error saying the outcome
+ * is unknown. On shutdown every outstanding request is failed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.micro-batch", name = "enabled", havingValue = "true")
+public class ProcessStartBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProcessStartBatcher.class);
+
+    private final RuntimeService runtimeService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long resultTimeoutNanos;
+    private final BlockingQueue<StartRequest> queue;
+    private final Set<StartRequest> outstanding = ConcurrentHashMap.newKeySet();
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public ProcessStartBatcher(RuntimeService runtimeService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${cadastro.micro-batch.max-size:64}") int maxBatchSize,
+                               @Value("${cadastro.micro-batch.max-wait:2ms}") Duration maxWait,
+                               @Value("${cadastro.micro-batch.queue-capacity:10000}") int queueCapacity,
+                               @Value("${cadastro.micro-batch.start-timeout:30s}") Duration startTimeout) {
+        this.runtimeService = runtimeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.resultTimeoutNanos = maxWait.plus(startTimeout).toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("cadastro.microbatch.size")
+                .description("Process instances started per engine transaction")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "process-start-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+
+        // Queued requests and a batch the dispatcher did not finish within the join.
+        queue.clear();
+        outstanding.forEach(request -> request.result.completeExceptionally(
+                new RejectedExecutionException("Micro-batcher is shutting down")));
+    }
+
+    /**
+     * Starts an instance of {@code processDefinitionKey} as part of the next batch and returns its variables.
+     * Exceptions raised by the process are rethrown unchanged.
+     */
+    public VariableMap submit(String processDefinitionKey, String businessKey, VariableMap variables) {
+        StartRequest request = new StartRequest(processDefinitionKey, businessKey, variables);
+        outstanding.add(request);
+        try {
+            if (!running || !queue.offer(request)) {
+                throw new RejectedExecutionException("Micro-batch queue is full");
+            }
+            if (!running && queue.remove(request)) {
+                // stop() ran between the check and the offer.
+                throw new RejectedExecutionException("Micro-batcher is shutting down");
+            }
+            return request.result.get(resultTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(request)) {
+                throw new RejectedExecutionException("Process start was not dispatched within "
+                        + Duration.ofNanos(resultTimeoutNanos));
+            }
+            // Already taken by the dispatcher: skipped if its batch has not started yet, otherwise it may commit.
+            request.result.completeExceptionally(e);
+            throw new IllegalStateException("Process start did not complete within "
+                    + Duration.ofNanos(resultTimeoutNanos) + "; its outcome is unknown", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for process start", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        } finally {
+            outstanding.remove(request);
+        }
+    }
+
+    private void dispatchLoop() {
+        List<StartRequest> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - batch.size());
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    StartRequest next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+
+                // Callers that timed out while their request was being batched no longer wait for it.
+                batch.removeIf(request -> request.result.isDone());
+                if (!batch.isEmpty()) {
+                    execute(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(request -> request.result.completeExceptionally(
+                        new RejectedExecutionException("Micro-batcher is shutting down")));
+                return;
+            } catch (RuntimeException e) {
+                // execute() completes every future itself; this only guards the loop against the unexpected.
+                LOG.error("Unexpected error in micro-batch dispatcher", e);
+                batch.forEach(request -> request.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void execute(List<StartRequest> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<VariableMap> results = transactionTemplate.execute(status -> {
+                List<VariableMap> started = new ArrayList<>(batch.size());
+                for (StartRequest request : batch) {
+                    started.add(startInstance(request));
+                }
+                return started;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+
+            // Nothing of the batch was committed; replay each request alone so a failure stays with its caller.
+            LOG.debug("Micro-batch of {} failed ({}), retrying its requests one by one", batch.size(), e.toString());
+            for (StartRequest request : batch) {
+                try {
+                    request.result.complete(transactionTemplate.execute(status -> startInstance(request)));
+                } catch (RuntimeException individualFailure) {
+                    request.result.completeExceptionally(individualFailure);
+                }
+            }
+        }
+    }
+
+    private VariableMap startInstance(StartRequest request) {
+        // The CRUD process ends synchronously, so the variables must be returned by the start call itself.
+        return ProcessStartEvent.record(request.processDefinitionKey, request.businessKey,
+                () -> runtimeService.createProcessInstanceByKey(request.processDefinitionKey)
+                        .businessKey(request.businessKey)
+                        .setVariables(request.variables)
+                        .executeWithVariablesInReturn())
+                .getVariables();
+    }
+
+    private static final class StartRequest {
+        private final String processDefinitionKey;
+        private final String businessKey;
+        private final VariableMap variables;
+        private final CompletableFuture<VariableMap> result = new CompletableFuture<>();
+
+        private StartRequest(String processDefinitionKey, String businessKey, VariableMap variables) {
+            this.processDefinitionKey = processDefinitionKey;
+            this.businessKey = businessKey;
+            this.variables = variables;
+        }
+    }
+}
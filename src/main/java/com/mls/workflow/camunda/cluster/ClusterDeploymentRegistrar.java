@@ -0,0 +1,49 @@
+package com.mls.workflow.camunda.cluster;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * With a deployment-aware job executor a node only acquires jobs of the deployments registered with it. A node
+ * registers its own new deployments, but not the ones another node made first (or a duplicate-filtered redeploy
+ * returned), so once the application is ready every deployment holding a version of the CRUD processes is
+ * registered here; jobs of older versions that are still running keep being executed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.cluster", name = "enabled", havingValue = "true")
+public class ClusterDeploymentRegistrar {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterDeploymentRegistrar.class);
+
+    private static final String PROCESS_KEY_PATTERN = "DemoAIProjectCRUDProcess%";
+
+    private final RepositoryService repositoryService;
+    private final ManagementService managementService;
+
+    public ClusterDeploymentRegistrar(RepositoryService repositoryService, ManagementService managementService) {
+        this.repositoryService = repositoryService;
+        this.managementService = managementService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerDeployments() {
+        Set<String> deploymentIds = new TreeSet<>();
+        for (ProcessDefinition definition : repositoryService.createProcessDefinitionQuery()
+                .processDefinitionKeyLike(PROCESS_KEY_PATTERN)
+                .list()) {
+            deploymentIds.add(definition.getDeploymentId());
+        }
+        deploymentIds.forEach(managementService::registerDeploymentForJobExecutor);
+        LOG.info("Registered {} deployments with the job executor", deploymentIds.size());
+    }
+}
@@ -0,0 +1,35 @@
+package com.mls.workflow.camunda.cluster;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Engine plugin of the cluster profile ({@code cadastro.cluster.enabled}): the node ID becomes the engine's host
+ * name (reported with its metrics) and the lock owner of the jobs its job executor acquires, so ACT_RU_JOB shows
+ * which node holds a job.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.cluster", name = "enabled", havingValue = "true")
+public class ClusterNodePlugin extends AbstractProcessEnginePlugin {
+
+    private final String nodeId;
+
+    public ClusterNodePlugin(@Value("${cadastro.cluster.node-id}") String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        configuration.setHostname(nodeId);
+    }
+
+    @Override
+    public void postInit(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getJobExecutor() != null) {
+            configuration.getJobExecutor().setLockOwner(nodeId);
+        }
+    }
+}
@@ -32,8 +32,8 @@ public class CreateDelegate implements JavaDelegate {
 
         if (payloadObj == null) {
             LOG.warn("[{}] Activity: {} - Payload is missing for CREATE operation.", processInstanceId, activityId);
-            execution.setVariable("statusCode", 400);
-            execution.setVariable("message", "Payload is missing for CREATE operation.");
+            TransientVariables.set(execution, "statusCode", 400);
+            TransientVariables.set(execution, "message", "Payload is missing for CREATE operation.");
             return;
         }
         
@@ -49,9 +49,9 @@ public class CreateDelegate implements JavaDelegate {
         
         CadastroDto createdCadastro = cadastroService.create(cadastroToCreate);
 
-        execution.setVariable("result", createdCadastro);
-        execution.setVariable("statusCode", 201);
-        execution.setVariable("message", "Recurso criado com sucesso");
+        TransientVariables.set(execution, "result", createdCadastro);
+        TransientVariables.set(execution, "statusCode", 201);
+        TransientVariables.set(execution, "message", "Recurso criado com sucesso");
 
         LOG.info("[{}] Activity: {} - Finished CreateDelegate. Created ID: {}", processInstanceId, activityId, createdCadastro.getId());
     }
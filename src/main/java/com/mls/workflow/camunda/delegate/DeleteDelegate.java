@@ -27,8 +27,8 @@ public class DeleteDelegate implements JavaDelegate {
 
         if (id == null) {
             LOG.warn("[{}] Activity: {} - ID is missing for DELETE operation.", processInstanceId, activityId);
-            execution.setVariable("statusCode", 400);
-            execution.setVariable("message", "ID is missing for DELETE operation.");
+            TransientVariables.set(execution, "statusCode", 400);
+            TransientVariables.set(execution, "message", "ID is missing for DELETE operation.");
             return;
         }
 
@@ -36,12 +36,12 @@ public class DeleteDelegate implements JavaDelegate {
         boolean deleted = cadastroService.delete(id);
 
         if (deleted) {
-            execution.setVariable("statusCode", 204);
-            execution.setVariable("message", "Recurso removido com sucesso");
+            TransientVariables.set(execution, "statusCode", 204);
+            TransientVariables.set(execution, "message", "Recurso removido com sucesso");
             LOG.info("[{}] Activity: {} - Finished DeleteDelegate. Record deleted.", processInstanceId, activityId);
         } else {
-            execution.setVariable("statusCode", 404);
-            execution.setVariable("message", "Recurso não encontrado");
+            TransientVariables.set(execution, "statusCode", 404);
+            TransientVariables.set(execution, "message", "Recurso não encontrado");
             LOG.warn("[{}] Activity: {} - Finished DeleteDelegate. Record with ID {} not found.", processInstanceId, activityId, id);
         }
     }
@@ -28,15 +28,16 @@ public class IdentificarTarefaDelegate implements JavaDelegate {
         if (processVariables == null) {
             LOG.error("[{}] Activity: {} - 'processVariables' map is missing. This is a configuration error.", processInstanceId, activityId);
             // Set a failure state
-            execution.setVariable("statusCode", 500);
-            execution.setVariable("message", "Erro interno: Mapa de variáveis do processo não encontrado.");
+            TransientVariables.set(execution, "statusCode", 500);
+            TransientVariables.set(execution, "message", "Erro interno: Mapa de variáveis do processo não encontrado.");
             return;
         }
 
         LOG.debug("[{}] Activity: {} - Unpacking variables: {}", processInstanceId, activityId, processVariables.keySet());
 
-        // Set all variables from the map into the execution
-        processVariables.forEach(execution::setVariable);
+        // Set all variables from the map into the execution, as transient variables: they only live for this
+        // synchronous run and are returned to the caller, so they are never persisted.
+        processVariables.forEach((name, value) -> TransientVariables.set(execution, name, value));
 
         String tarefa = (String) execution.getVariable("tarefa");
         if (tarefa == null) {
@@ -30,8 +30,8 @@ public class ReadDelegate implements JavaDelegate {
 
         if (id == null) {
             LOG.warn("[{}] Activity: {} - ID is missing for READ operation.", processInstanceId, activityId);
-            execution.setVariable("statusCode", 400);
-            execution.setVariable("message", "ID is missing for READ operation.");
+            TransientVariables.set(execution, "statusCode", 400);
+            TransientVariables.set(execution, "message", "ID is missing for READ operation.");
             return;
         }
 
@@ -39,15 +39,15 @@ public class ReadDelegate implements JavaDelegate {
         Optional<CadastroDto> cadastroOptional = cadastroService.read(id);
 
         if (cadastroOptional.isPresent()) {
-            execution.setVariable("result", cadastroOptional.get());
-            execution.setVariable("statusCode", 200);
-            execution.setVariable("message", "Recurso encontrado");
+            TransientVariables.set(execution, "result", cadastroOptional.get());
+            TransientVariables.set(execution, "statusCode", 200);
+            TransientVariables.set(execution, "message", "Recurso encontrado");
             LOG.info("[{}] Activity: {} - Finished ReadDelegate. Record found.", processInstanceId, activityId);
         } else {
             // Set result to null explicitly for clarity in the process variables
-            execution.setVariable("result", null);
-            execution.setVariable("statusCode", 404);
-            execution.setVariable("message", "Recurso não encontrado");
+            TransientVariables.set(execution, "result", null);
+            TransientVariables.set(execution, "statusCode", 404);
+            TransientVariables.set(execution, "message", "Recurso não encontrado");
             LOG.warn("[{}] Activity: {} - Finished ReadDelegate. Record with ID {} not found.", processInstanceId, activityId, id);
         }
     }
@@ -0,0 +1,20 @@
+package com.mls.workflow.camunda.delegate;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.variable.Variables;
+
+/**
+ * The CRUD process runs in a single transaction and hands its outputs back through
+ * {@code executeWithVariablesInReturn}, so its variables never need to outlive the transaction.
+ * Transient variables behave like ordinary ones for expressions and delegates but are never serialized,
+ * written to ACT_RU_VARIABLE / ACT_GE_BYTEARRAY or recorded in history.
+ */
+final class TransientVariables {
+
+    private TransientVariables() {
+    }
+
+    static void set(DelegateExecution execution, String name, Object value) {
+        execution.setVariable(name, Variables.untypedValue(value, true));
+    }
+}
@@ -35,43 +35,29 @@ public class UpdateDelegate implements JavaDelegate {
 
         if (id == null || payloadObj == null) {
             LOG.warn("[{}] Activity: {} - ID or Payload is missing for UPDATE operation.", processInstanceId, activityId);
-            execution.setVariable("statusCode", 400);
-            execution.setVariable("message", "ID or Payload is missing for UPDATE operation.");
+            TransientVariables.set(execution, "statusCode", 400);
+            TransientVariables.set(execution, "message", "ID or Payload is missing for UPDATE operation.");
             return;
         }
         
         UpdateRequestDto payload = objectMapper.convertValue(payloadObj, UpdateRequestDto.class);
 
-        // Fetch the existing record
-        Optional<CadastroDto> existingCadastroOpt = cadastroService.read(id);
+        // Single round-trip: unchanged columns are kept by the UPDATE itself and the new row comes back with it.
+        LOG.debug("[{}] Activity: {} - Updating record ID {} with changes: {}", processInstanceId, activityId, id, payload);
+        Optional<CadastroDto> updated = cadastroService.patch(id, payload);
 
-        if (existingCadastroOpt.isEmpty()) {
+        if (updated.isEmpty()) {
             LOG.warn("[{}] Activity: {} - Record with ID {} not found for update.", processInstanceId, activityId, id);
-            execution.setVariable("statusCode", 404);
-            execution.setVariable("message", "Recurso não encontrado para atualização.");
+            TransientVariables.set(execution, "statusCode", 404);
+            TransientVariables.set(execution, "message", "Recurso não encontrado para atualização.");
             return;
         }
 
-        CadastroDto existingCadastro = existingCadastroOpt.get();
+        CadastroDto updatedCadastro = updated.get();
 
-        // Apply changes from DTO
-        if (payload.getNome() != null) {
-            existingCadastro.setNome(payload.getNome());
-        }
-        if (payload.getEmail() != null) {
-            existingCadastro.setEmail(payload.getEmail());
-        }
-        if (payload.getIdade() != null) {
-            existingCadastro.setIdade(payload.getIdade());
-        }
-
-        LOG.debug("[{}] Activity: {} - Updating record ID {} with data: {}", processInstanceId, activityId, id, existingCadastro);
-        
-        CadastroDto updatedCadastro = cadastroService.update(id, existingCadastro);
-
-        execution.setVariable("result", updatedCadastro);
-        execution.setVariable("statusCode", 200);
-        execution.setVariable("message", "Recurso atualizado com sucesso");
+        TransientVariables.set(execution, "result", updatedCadastro);
+        TransientVariables.set(execution, "statusCode", 200);
+        TransientVariables.set(execution, "message", "Recurso atualizado com sucesso");
 
         LOG.info("[{}] Activity: {} - Finished UpdateDelegate. Record updated.", processInstanceId, activityId);
     }
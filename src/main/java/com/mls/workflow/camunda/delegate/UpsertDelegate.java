@@ -0,0 +1,57 @@
+package com.mls.workflow.camunda.delegate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CreateRequestDto;
+import com.mls.workflow.core.service.CadastroService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component("upsertDelegate")
+public class UpsertDelegate implements JavaDelegate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpsertDelegate.class);
+    private final CadastroService cadastroService;
+    private final ObjectMapper objectMapper;
+
+    public UpsertDelegate(CadastroService cadastroService, ObjectMapper objectMapper) {
+        this.cadastroService = cadastroService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void execute(DelegateExecution execution) throws Exception {
+        String processInstanceId = execution.getProcessInstanceId();
+        String activityId = execution.getCurrentActivityId();
+        LOG.info("[{}] Activity: {} - Starting UpsertDelegate", processInstanceId, activityId);
+
+        Object payloadObj = execution.getVariable("payload");
+
+        if (payloadObj == null) {
+            LOG.warn("[{}] Activity: {} - Payload is missing for UPSERT operation.", processInstanceId, activityId);
+            TransientVariables.set(execution, "statusCode", 400);
+            TransientVariables.set(execution, "message", "Payload is missing for UPSERT operation.");
+            return;
+        }
+
+        CreateRequestDto payload = objectMapper.convertValue(payloadObj, CreateRequestDto.class);
+
+        CadastroDto cadastro = new CadastroDto();
+        cadastro.setNome(payload.getNome());
+        cadastro.setEmail(payload.getEmail());
+        cadastro.setIdade(payload.getIdade());
+
+        LOG.debug("[{}] Activity: {} - Upserting record by e-mail with data: {}", processInstanceId, activityId, cadastro);
+
+        CadastroDto upsertedCadastro = cadastroService.upsertByEmail(cadastro);
+
+        TransientVariables.set(execution, "result", upsertedCadastro);
+        TransientVariables.set(execution, "statusCode", 200);
+        TransientVariables.set(execution, "message", "Recurso gravado com sucesso");
+
+        LOG.info("[{}] Activity: {} - Finished UpsertDelegate. Record ID: {}", processInstanceId, activityId, upsertedCadastro.getId());
+    }
+}
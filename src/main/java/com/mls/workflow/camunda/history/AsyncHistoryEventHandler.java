@@ -0,0 +1,250 @@
+package com.mls.workflow.camunda.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * History event handler that takes ACT_HI_* writes out of the engine transaction.
+ * <p>
+ * Events are collected per engine transaction and, once it commits, queued as one unit; a rolled back transaction
+ * leaves no history, as with the default handler. A writer thread drains the queue, lingering up to
+ * {@code max-delay} for more (never beyond {@code batch-size}), and appends the units to the {@link HistoryJournal}
+ * with one write and, with {@code fsync}, one disk sync for the whole batch. {@link HistoryJournalFlusher} later
+ * copies the journal into the ACT_HI_* tables.
+ * <p>
+ * How much a request pays for its history is configurable: by default it returns right after the engine commit and
+ * the events queued at that moment are lost if the process dies. With {@code wait-for-journal} it waits until its
+ * events are in the journal (and on disk with {@code fsync}). When the queue is full, {@code on-full=block} makes
+ * requests wait for the writer and {@code on-full=drop} discards their history, counted in
+ * {@code cadastro.history.dropped}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.history.async", name = "enabled", havingValue = "true")
+public class AsyncHistoryEventHandler implements HistoryEventHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncHistoryEventHandler.class);
+
+    private final HistoryJournal journal;
+    private final BlockingQueue<Unit> queue;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final boolean dropWhenFull;
+    private final boolean waitForJournal;
+    private final Map<CommandContext, List<HistoryEvent>> pending = new ConcurrentHashMap<>();
+    private final Counter droppedQueueFull;
+    private final Counter droppedWriteFailed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AsyncHistoryEventHandler(MeterRegistry meterRegistry,
+                                    @Value("${cadastro.history.async.directory:./history-journal}") Path directory,
+                                    @Value("${cadastro.history.async.segment-size:64MB}") DataSize segmentSize,
+                                    @Value("${cadastro.history.async.fsync:false}") boolean fsync,
+                                    @Value("${cadastro.history.async.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${cadastro.history.async.on-full:block}") String onFull,
+                                    @Value("${cadastro.history.async.batch-size:256}") int batchSize,
+                                    @Value("${cadastro.history.async.max-delay:5ms}") Duration maxDelay,
+                                    @Value("${cadastro.history.async.wait-for-journal:false}") boolean waitForJournal) {
+        if (!"block".equalsIgnoreCase(onFull) && !"drop".equalsIgnoreCase(onFull)) {
+            throw new IllegalArgumentException("cadastro.history.async.on-full must be 'block' or 'drop', got '" + onFull + "'");
+        }
+        this.journal = new HistoryJournal(directory, segmentSize.toBytes(), fsync);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxWaitNanos = maxDelay.toNanos();
+        this.dropWhenFull = "drop".equalsIgnoreCase(onFull);
+        this.waitForJournal = waitForJournal;
+        this.droppedQueueFull = Counter.builder("cadastro.history.dropped")
+                .description("History events discarded instead of being journaled")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.droppedWriteFailed = Counter.builder("cadastro.history.dropped")
+                .description("History events discarded instead of being journaled")
+                .tag("reason", "write-failed")
+                .register(meterRegistry);
+        Gauge.builder("cadastro.history.queue", queue, Collection::size)
+                .description("Committed transactions whose history is waiting for the journal writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        journal.open();
+        running = true;
+        writer = new Thread(this::writeLoop, "history-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting history and lets the writer empty the queue into the journal before closing it.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            LOG.warn("History journal writer did not finish within 10s, {} transactions were not journaled", queue.size());
+            writer.interrupt();
+        }
+        journal.close();
+    }
+
+    @Override
+    public void handleEvent(HistoryEvent historyEvent) {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext == null) {
+            enqueue(new ArrayList<>(List.of(historyEvent)));
+            return;
+        }
+        pending.computeIfAbsent(commandContext, this::collectUntilCompletion).add(historyEvent);
+    }
+
+    @Override
+    public void handleEvents(List<HistoryEvent> historyEvents) {
+        historyEvents.forEach(this::handleEvent);
+    }
+
+    HistoryJournal journal() {
+        return journal;
+    }
+
+    private List<HistoryEvent> collectUntilCompletion(CommandContext commandContext) {
+        commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, committed -> {
+            List<HistoryEvent> events = pending.remove(commandContext);
+            if (events != null) {
+                enqueue(events);
+            }
+        });
+        commandContext.getTransactionContext().addTransactionListener(TransactionState.ROLLED_BACK,
+                rolledBack -> pending.remove(commandContext));
+        return new ArrayList<>();
+    }
+
+    private void enqueue(List<HistoryEvent> events) {
+        Unit unit = new Unit(events, waitForJournal ? new CompletableFuture<>() : null);
+        if (!running) {
+            droppedQueueFull.increment(events.size());
+            return;
+        }
+        if (dropWhenFull) {
+            if (!queue.offer(unit)) {
+                droppedQueueFull.increment(events.size());
+                return;
+            }
+        } else {
+            try {
+                queue.put(unit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedQueueFull.increment(events.size());
+                return;
+            }
+        }
+
+        if (unit.written != null) {
+            try {
+                unit.written.join();
+            } catch (CompletionException e) {
+                // The engine transaction is already committed; failing the request now would misreport it.
+                LOG.warn("History of a committed transaction could not be journaled", e.getCause());
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<Unit> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Unit first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (running && batch.size() < batchSize) {
+                    Unit next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(unit -> unit.fail(new IllegalStateException("History journal writer was interrupted")));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Unit> batch) {
+        List<List<HistoryEvent>> units = new ArrayList<>(batch.size());
+        batch.forEach(unit -> units.add(unit.events));
+        try {
+            journal.append(units);
+            batch.forEach(Unit::complete);
+        } catch (Exception e) {
+            int events = units.stream().mapToInt(List::size).sum();
+            LOG.error("Could not journal the history of {} transactions ({} events)", batch.size(), events, e);
+            droppedWriteFailed.increment(events);
+            batch.forEach(unit -> unit.fail(e));
+        }
+    }
+
+    private static final class Unit {
+        private final List<HistoryEvent> events;
+        private final CompletableFuture<Void> written;
+
+        private Unit(List<HistoryEvent> events, CompletableFuture<Void> written) {
+            this.events = events;
+            this.written = written;
+        }
+
+        private void complete() {
+            if (written != null) {
+                written.complete(null);
+            }
+        }
+
+        private void fail(Exception e) {
+            if (written != null) {
+                written.completeExceptionally(e);
+            }
+        }
+    }
+}
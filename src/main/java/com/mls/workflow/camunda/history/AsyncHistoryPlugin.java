@@ -0,0 +1,46 @@
+package com.mls.workflow.camunda.history;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine plugin ({@code cadastro.history.async.enabled}) that replaces the synchronous ACT_HI_* inserts of every
+ * engine transaction with the {@link AsyncHistoryEventHandler} journal and starts the {@link HistoryJournalFlusher}.
+ * The history level and the process definitions' {@code historyTimeToLive} are unchanged; history shows up in
+ * Cockpit and the history API once the flusher has copied it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.history.async", name = "enabled", havingValue = "true")
+public class AsyncHistoryPlugin extends AbstractProcessEnginePlugin {
+
+    private final AsyncHistoryEventHandler historyEventHandler;
+    private final HistoryJournalFlusher flusher;
+
+    public AsyncHistoryPlugin(AsyncHistoryEventHandler historyEventHandler, HistoryJournalFlusher flusher) {
+        this.historyEventHandler = historyEventHandler;
+        this.flusher = flusher;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<HistoryEventHandler> handlers = new ArrayList<>();
+        if (configuration.getCustomHistoryEventHandlers() != null) {
+            handlers.addAll(configuration.getCustomHistoryEventHandlers());
+        }
+        handlers.add(historyEventHandler);
+        configuration.setCustomHistoryEventHandlers(handlers);
+        configuration.setEnableDefaultDbHistoryEventHandler(false);
+    }
+
+    @Override
+    public void postProcessEngineBuild(ProcessEngine processEngine) {
+        flusher.start((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration());
+    }
+}
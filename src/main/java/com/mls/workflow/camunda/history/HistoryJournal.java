@@ -0,0 +1,322 @@
+package com.mls.workflow.camunda.history;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented journal of engine history events.
+ * <p>
+ * Each record holds the events of one engine transaction: {@code int length | payload | int crc32(payload)}, where
+ * the payload is the Java serialized {@code ArrayList<HistoryEvent>}. Records go to {@code history-<n>.journal};
+ * once a segment reaches {@code segment-size} the next record starts segment {@code n + 1}. Only the writer thread
+ * appends; readers see records up to {@link #end()}, which only advances after a write was handed to the OS.
+ * <p>
+ * A torn record at the end of the last segment, left by a crash in the middle of a write, is cut off when the
+ * journal is opened. A write that fails at runtime closes the segment and the next record starts a new one, so a
+ * reader that finds a damaged record in an older segment skips to the next segment.
+ */
+final class HistoryJournal implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HistoryJournal.class);
+
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int MAX_RECORD_LENGTH = 64 << 20;
+    private static final ObjectInputFilter EVENT_CLASSES =
+            ObjectInputFilter.Config.createFilter("java.base/*;org.camunda.bpm.**;!*");
+
+    /**
+     * A byte position in the journal. {@code (0, 0)} is before the first record of any segment.
+     */
+    record Position(long segment, long offset) implements Comparable<Position> {
+
+        static final Position START = new Position(0, 0);
+
+        @Override
+        public int compareTo(Position other) {
+            return segment != other.segment ? Long.compare(segment, other.segment) : Long.compare(offset, other.offset);
+        }
+    }
+
+    /**
+     * Events read by {@link #read}; {@code next} is the position right after the last record returned.
+     */
+    record Batch(List<HistoryEvent> events, Position next) {
+    }
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final CRC32 crc = new CRC32();
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream(4096);
+
+    private FileChannel segment;
+    private long segmentNumber;
+    private long segmentLength;
+    private boolean rollBeforeNextWrite;
+    private volatile Position end = Position.START;
+
+    HistoryJournal(Path directory, long segmentSize, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Opens the last segment for appending, after cutting off a damaged tail, or creates the first one.
+     */
+    void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Long> segments = segments();
+            segmentNumber = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+            Path file = segmentFile(segmentNumber);
+
+            long validLength = Files.exists(file) ? validLength(file) : 0L;
+            segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (segment.size() > validLength) {
+                LOG.warn("Truncating damaged tail of {} at byte {} (file has {} bytes)", file, validLength, segment.size());
+                segment.truncate(validLength);
+                segment.force(true);
+            }
+            segment.position(validLength);
+            segmentLength = validLength;
+            end = new Position(segmentNumber, segmentLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open history journal in " + directory, e);
+        }
+    }
+
+    Position end() {
+        return end;
+    }
+
+    /**
+     * Appends one record per unit, hands them to the OS and, with fsync, forces them to the disk before returning.
+     */
+    Position append(List<List<HistoryEvent>> units) throws IOException {
+        try {
+            if (rollBeforeNextWrite || segmentLength >= segmentSize) {
+                roll();
+            }
+            for (List<HistoryEvent> unit : units) {
+                ByteBuffer record = encode(unit);
+                while (record.hasRemaining()) {
+                    segment.write(record);
+                }
+                segmentLength += record.limit();
+                if (segmentLength >= segmentSize) {
+                    roll();
+                }
+            }
+            if (fsync) {
+                segment.force(false);
+            }
+        } catch (IOException e) {
+            // The segment may now end in a partial record; appending behind it would hide what follows.
+            rollBeforeNextWrite = true;
+            throw e;
+        }
+        end = new Position(segmentNumber, segmentLength);
+        return end;
+    }
+
+    /**
+     * Reads whole records from {@code from} until at least {@code maxEvents} events were read or {@link #end()}
+     * is reached.
+     */
+    Batch read(Position from, int maxEvents) throws IOException {
+        Position limit = end;
+        List<HistoryEvent> events = new ArrayList<>();
+        Position position = firstReadable(from, limit);
+
+        while (events.size() < maxEvents && position.compareTo(limit) < 0) {
+            Path file = segmentFile(position.segment());
+            long readableLength = position.segment() == limit.segment() ? limit.offset() : Files.size(file);
+            if (position.offset() >= readableLength) {
+                position = nextSegment(position, limit);
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long offset = position.offset();
+                while (events.size() < maxEvents && offset < readableLength) {
+                    List<HistoryEvent> unit = readRecord(channel, offset, readableLength);
+                    if (unit == null) {
+                        LOG.warn("Damaged history record in {} at byte {}, skipping the rest of the segment", file, offset);
+                        offset = readableLength;
+                        break;
+                    }
+                    events.addAll(unit);
+                    offset = channel.position();
+                }
+                position = new Position(position.segment(), offset);
+            }
+        }
+        return new Batch(events, position);
+    }
+
+    /**
+     * Deletes the segments that lie entirely before {@code position}.
+     */
+    void deleteSegmentsBefore(Position position) throws IOException {
+        long current = end.segment();
+        for (long number : segments()) {
+            if (number < position.segment() && number < current) {
+                Files.deleteIfExists(segmentFile(number));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing history journal segment {}", segmentFile(segmentNumber), e);
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        try {
+            segment.force(false);
+            segment.close();
+        } catch (IOException e) {
+            LOG.warn("Error closing history journal segment {}", segmentFile(segmentNumber), e);
+        }
+        segmentNumber++;
+        segment = FileChannel.open(segmentFile(segmentNumber), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentLength = 0;
+        rollBeforeNextWrite = false;
+    }
+
+    private ByteBuffer encode(List<HistoryEvent> unit) throws IOException {
+        payload.reset();
+        payload.write(new byte[4]);
+        try (ObjectOutputStream out = new ObjectOutputStream(payload)) {
+            out.writeObject(new ArrayList<>(unit));
+        }
+        int length = payload.size() - 4;
+        crc.reset();
+        ByteBuffer record = ByteBuffer.allocate(payload.size() + 4);
+        record.put(payload.toByteArray());
+        crc.update(record.array(), 4, length);
+        record.putInt(0, length).putInt((int) crc.getValue()).flip();
+        return record;
+    }
+
+    /**
+     * The record at {@code offset}, leaving the channel behind it, or {@code null} if it is incomplete or damaged.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<HistoryEvent> readRecord(FileChannel channel, long offset, long readableLength) throws IOException {
+        if (readableLength - offset < 8) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(4);
+        while (header.hasRemaining()) {
+            if (channel.read(header, offset + header.position()) < 0) {
+                return null;
+            }
+        }
+        int length = header.flip().getInt();
+        if (length <= 0 || length > MAX_RECORD_LENGTH || offset + 8 + length > readableLength) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length + 4);
+        while (body.hasRemaining()) {
+            if (channel.read(body, offset + 4 + body.position()) < 0) {
+                return null;
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, length);
+        if (body.getInt(length) != (int) crc.getValue()) {
+            return null;
+        }
+        channel.position(offset + 8 + length);
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(body.array(), 0, length))) {
+            in.setObjectInputFilter(EVENT_CLASSES);
+            return (List<HistoryEvent>) in.readObject();
+        } catch (ClassNotFoundException | InvalidClassException e) {
+            throw new IOException("History record at byte " + offset + " cannot be read by this engine version", e);
+        }
+    }
+
+    private long validLength(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                try {
+                    if (readRecord(channel, offset, size) == null) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    break;
+                }
+                offset = channel.position();
+            }
+            return offset;
+        }
+    }
+
+    private Position firstReadable(Position from, Position limit) throws IOException {
+        if (from.segment() > limit.segment()) {
+            // The journal was recreated behind the reader's back; start again from what is there now.
+            LOG.warn("History journal position {} is beyond the journal end {}, reading from its first segment", from, limit);
+            return nextSegment(Position.START, limit);
+        }
+        if (from.segment() == 0 || !Files.exists(segmentFile(from.segment()))) {
+            return nextSegment(new Position(from.segment(), 0), limit);
+        }
+        return from;
+    }
+
+    private Position nextSegment(Position current, Position limit) throws IOException {
+        for (long number : segments()) {
+            if (number > current.segment() && number <= limit.segment()) {
+                return new Position(number, 0);
+            }
+        }
+        return limit;
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentFile(long number) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+}
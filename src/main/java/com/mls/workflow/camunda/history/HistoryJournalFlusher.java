@@ -0,0 +1,206 @@
+package com.mls.workflow.camunda.history;
+
+import com.mls.workflow.camunda.history.HistoryJournal.Batch;
+import com.mls.workflow.camunda.history.HistoryJournal.Position;
+import jakarta.annotation.PreDestroy;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies the history journal into the engine's ACT_HI_* tables ({@code cadastro.history.async.db-flush.enabled}).
+ * <p>
+ * Every {@code interval} it reads up to {@code batch-size} events after the last checkpoint and writes them with the
+ * engine's own {@link DbHistoryEventHandler} in one transaction, which also moves the checkpoint in
+ * AIC_HISTORY_CHECKPOINT; each event therefore reaches the tables exactly once, also across restarts. Segments that
+ * lie entirely before the checkpoint are deleted unless {@code delete-flushed-segments} is off.
+ * <p>
+ * Without db-flush the journal is the only record of the history and is never deleted by the application.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.history.async", name = "enabled", havingValue = "true")
+public class HistoryJournalFlusher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HistoryJournalFlusher.class);
+
+    private final HistoryJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int batchSize;
+    private final boolean deleteFlushedSegments;
+    private final DbHistoryEventHandler dbHistoryEventHandler = new DbHistoryEventHandler();
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private CommandExecutor commandExecutor;
+    private Position checkpoint;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public HistoryJournalFlusher(AsyncHistoryEventHandler historyEventHandler,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${cadastro.history.async.db-flush.enabled:true}") boolean enabled,
+                                 @Value("${cadastro.history.async.db-flush.interval:1s}") Duration interval,
+                                 @Value("${cadastro.history.async.db-flush.batch-size:1000}") int batchSize,
+                                 @Value("${cadastro.history.async.db-flush.delete-flushed-segments:true}") boolean deleteFlushedSegments) {
+        this.journal = historyEventHandler.journal();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.deleteFlushedSegments = deleteFlushedSegments;
+    }
+
+    /**
+     * Starts flushing through the engine's command executor; called once the engine is built.
+     */
+    void start(ProcessEngineConfigurationImpl configuration) {
+        if (!enabled) {
+            LOG.info("History is kept in the journal only (cadastro.history.async.db-flush.enabled=false)");
+            return;
+        }
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS AIC_HISTORY_CHECKPOINT (
+                ID INT PRIMARY KEY,
+                SEGMENT_NO BIGINT NOT NULL,
+                BYTE_OFFSET BIGINT NOT NULL
+            )
+            """);
+        jdbcTemplate.update("INSERT INTO AIC_HISTORY_CHECKPOINT (ID, SEGMENT_NO, BYTE_OFFSET) "
+                + "SELECT 1, 0, 0 WHERE NOT EXISTS (SELECT 1 FROM AIC_HISTORY_CHECKPOINT WHERE ID = 1)");
+        checkpoint = jdbcTemplate.queryForObject("SELECT SEGMENT_NO, BYTE_OFFSET FROM AIC_HISTORY_CHECKPOINT WHERE ID = 1",
+                (rs, rowNum) -> new Position(rs.getLong(1), rs.getLong(2)));
+        commandExecutor = configuration.getCommandExecutorTxRequired();
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "history-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        // Not interrupted: an interrupt inside a JDBC call can close the H2 file underneath the engine.
+        running = false;
+        wakeUp.release();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                wakeUp.tryAcquire(interval.toMillis(), TimeUnit.MILLISECONDS);
+                flushAvailable();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOG.warn("History flush failed at journal position {}, retrying in {}", checkpoint, interval, e);
+            }
+        }
+    }
+
+    private void flushAvailable() throws Exception {
+        while (running) {
+            Batch batch = journal.read(checkpoint, batchSize);
+            if (batch.next().equals(checkpoint)) {
+                return;
+            }
+            List<HistoryEvent> events = compact(batch.events());
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!events.isEmpty()) {
+                    commandExecutor.execute(commandContext -> {
+                        events.forEach(dbHistoryEventHandler::handleEvent);
+                        return null;
+                    });
+                }
+                jdbcTemplate.update("UPDATE AIC_HISTORY_CHECKPOINT SET SEGMENT_NO = ?, BYTE_OFFSET = ? WHERE ID = 1",
+                        batch.next().segment(), batch.next().offset());
+            });
+            checkpoint = batch.next();
+            if (deleteFlushedSegments) {
+                journal.deleteSegmentsBefore(checkpoint);
+            }
+        }
+    }
+
+    /**
+     * Prepares events for a single {@link DbHistoryEventHandler} pass.
+     * <p>
+     * The engine writes a scope (process or activity instance) as an insert at its start and a merge at its end. In
+     * a synchronous transaction both are the same cached object, but here they arrive as separate objects, and the
+     * handler skips a merge whose row is still a pending insert. So the last state of each row replaces its earlier
+     * events, in place of the first one and written the way the first one would have been, keeping the start time
+     * the end event only has when it can read the start row. Variable updates each add a row of their own and are
+     * left alone.
+     * <p>
+     * With the "end" removal time strategy, the engine sets the removal time of a finished process instance on the
+     * rows already in ACT_HI_*, which are not there yet; it is copied from the event that carries it to the other
+     * events of the same root process instance instead.
+     */
+    static List<HistoryEvent> compact(List<HistoryEvent> events) {
+        List<HistoryEvent> compacted = new ArrayList<>(events.size());
+        Map<String, Integer> slots = new HashMap<>();
+        Map<String, Date> removalTimes = new HashMap<>();
+
+        for (HistoryEvent event : events) {
+            if (event.getRemovalTime() != null && event.getRootProcessInstanceId() != null) {
+                removalTimes.put(event.getRootProcessInstanceId(), event.getRemovalTime());
+            }
+            if (event instanceof HistoricVariableUpdateEventEntity || event.getId() == null) {
+                compacted.add(event);
+                continue;
+            }
+            String key = event.getClass().getName() + '#' + event.getId();
+            Integer slot = slots.putIfAbsent(key, compacted.size());
+            if (slot == null) {
+                compacted.add(event);
+                continue;
+            }
+            HistoryEvent earlier = compacted.get(slot);
+            if (earlier instanceof HistoricScopeInstanceEvent started && event instanceof HistoricScopeInstanceEvent ended) {
+                if (ended.getStartTime() == null) {
+                    ended.setStartTime(started.getStartTime());
+                }
+                if (ended.getDurationInMillis() == null && ended.getStartTime() != null && ended.getEndTime() != null) {
+                    ended.setDurationInMillis(ended.getEndTime().getTime() - ended.getStartTime().getTime());
+                }
+            }
+            event.setEventType(earlier.getEventType());
+            compacted.set(slot, event);
+        }
+
+        for (HistoryEvent event : compacted) {
+            if (event.getRemovalTime() == null && event.getRootProcessInstanceId() != null) {
+                event.setRemovalTime(removalTimes.get(event.getRootProcessInstanceId()));
+            }
+        }
+        return compacted;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mls.workflow.camunda.jobexecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultAcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Engine plugin that times each job acquisition query of the job executor ({@code cadastro.jobs.acquisition}),
+ * together with {@link VirtualThreadJobTaskExecutor}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.job-executor.virtual-threads", name = "enabled", havingValue = "true")
+public class JobAcquisitionMetricsPlugin extends AbstractProcessEnginePlugin {
+
+    private final Timer acquisitionTimer;
+
+    public JobAcquisitionMetricsPlugin(MeterRegistry meterRegistry) {
+        this.acquisitionTimer = Timer.builder("cadastro.jobs.acquisition")
+                .description("Duration of a job acquisition (select and lock of due jobs)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void postInit(ProcessEngineConfigurationImpl configuration) {
+        JobExecutor jobExecutor = configuration.getJobExecutor();
+        if (jobExecutor == null) {
+            return;
+        }
+        // The job executor only creates its default factory on first use, so it may not exist yet.
+        AcquireJobsCommandFactory factory = jobExecutor.getAcquireJobsCmdFactory() != null
+                ? jobExecutor.getAcquireJobsCmdFactory()
+                : new DefaultAcquireJobsCommandFactory(jobExecutor);
+        jobExecutor.setAcquireJobsCmdFactory(numJobsToAcquire -> timed(factory.getCommand(numJobsToAcquire)));
+    }
+
+    private Command<AcquiredJobs> timed(Command<AcquiredJobs> command) {
+        return commandContext -> acquisitionTimer.record(() -> command.execute(commandContext));
+    }
+}
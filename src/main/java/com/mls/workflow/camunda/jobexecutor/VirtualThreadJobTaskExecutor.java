@@ -0,0 +1,143 @@
+package com.mls.workflow.camunda.jobexecutor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Task executor of the Camunda job executor ({@code cadastro.job-executor.virtual-threads.enabled}), registered under
+ * the {@code camundaTaskExecutor} name so the starter uses it instead of its fixed platform-thread pool.
+ * <p>
+ * Each batch of acquired jobs gets its own virtual thread, so a job blocked on H2 no longer holds a carrier thread.
+ * A job needs a database connection for as long as it runs, however, so at most {@code max-concurrency} batches run
+ * at once; by default that is the Hikari pool size minus {@code reserved-connections}, which stay free for HTTP
+ * requests. Further batches wait for a permit, up to {@code queue-capacity} of them; beyond that the batch is
+ * rejected and the starter's rejected-jobs handler runs it on the acquisition thread, which slows acquisition down.
+ */
+@Component(VirtualThreadJobTaskExecutor.BEAN_NAME)
+@ConditionalOnProperty(prefix = "cadastro.job-executor.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadJobTaskExecutor implements TaskExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadJobTaskExecutor.class);
+
+    /** Name under which the Camunda starter looks up the job executor's task executor. */
+    public static final String BEAN_NAME = "camundaTaskExecutor";
+
+    /** Name prefix of the job threads, also used to attribute pinning events to jobs. */
+    public static final String THREAD_NAME_PREFIX = "camunda-job-";
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+
+    public VirtualThreadJobTaskExecutor(DataSource dataSource,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${cadastro.job-executor.virtual-threads.max-concurrency:0}") int maxConcurrency,
+                                        @Value("${cadastro.job-executor.virtual-threads.reserved-connections:2}") int reservedConnections,
+                                        @Value("${cadastro.job-executor.virtual-threads.queue-capacity:1000}") int queueCapacity) {
+        this.maxConcurrency = maxConcurrency > 0
+                ? maxConcurrency
+                : Math.max(1, poolSize(dataSource) - reservedConnections);
+        this.queueCapacity = queueCapacity;
+        this.permits = new Semaphore(this.maxConcurrency, true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+
+        this.waitTimer = Timer.builder("cadastro.jobs.wait")
+                .description("Time an acquired job batch waited for a free execution slot")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("cadastro.jobs.execution")
+                .description("Execution time of an acquired job batch")
+                .register(meterRegistry);
+        Gauge.builder("cadastro.jobs.queued", queued, AtomicInteger::get)
+                .description("Acquired job batches waiting for a free execution slot")
+                .register(meterRegistry);
+        Gauge.builder("cadastro.jobs.active", active, AtomicInteger::get)
+                .description("Job batches being executed")
+                .register(meterRegistry);
+        LOG.info("Job executor runs on virtual threads, at most {} job batches at once", this.maxConcurrency);
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            LOG.warn("Could not determine the connection pool size", e);
+        }
+        // Hikari's default maximumPoolSize.
+        return 10;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Job queue is full (" + queueCapacity + " batches)");
+        }
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(task, submittedAt));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task, long submittedAt) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            // Only happens on shutdown; the jobs' locks expire and another acquisition picks them up.
+            queued.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        long startedAt = System.nanoTime();
+        waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+        try {
+            task.run();
+        } finally {
+            executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.mls.workflow.camunda.jobexecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports job threads that stay pinned to their carrier thread (a blocking call inside {@code synchronized} or a
+ * native frame) for longer than {@code cadastro.job-executor.virtual-threads.pinning-threshold}.
+ * <p>
+ * Pinning is observed in-process through the JDK's {@code jdk.VirtualThreadPinned} flight recorder event. Every
+ * occurrence on a {@link VirtualThreadJobTaskExecutor} thread is counted in {@code cadastro.jobs.pinned}; each
+ * distinct stack is logged once as a warning, so the offending delegate or library call can be found without
+ * flooding the log.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.job-executor.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Counter pinned;
+    private final Duration threshold;
+    private final boolean enabled;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${cadastro.job-executor.virtual-threads.pinning-threshold:20ms}") Duration threshold,
+                                       @Value("${cadastro.job-executor.virtual-threads.detect-pinning:true}") boolean enabled) {
+        this.threshold = threshold;
+        this.enabled = enabled;
+        this.pinned = Counter.builder("cadastro.jobs.pinned")
+                .description("Job threads pinned to their carrier thread for longer than the pinning threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        RecordedThread thread = event.getThread("eventThread");
+        if (thread == null || thread.getJavaName() == null
+                || !thread.getJavaName().startsWith(VirtualThreadJobTaskExecutor.THREAD_NAME_PREFIX)) {
+            return;
+        }
+        pinned.increment();
+
+        String stack = describe(event.getStackTrace());
+        if (reportedStacks.add(stack)) {
+            LOG.warn("Job thread {} was pinned to its carrier for {} ms:{}",
+                    thread.getJavaName(), event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " (no stack trace)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""))
+                .collect(Collectors.joining());
+    }
+}
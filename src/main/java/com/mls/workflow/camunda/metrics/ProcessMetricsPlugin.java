@@ -0,0 +1,62 @@
+package com.mls.workflow.camunda.metrics;
+
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine plugin ({@code cadastro.metrics.process.enabled}) adding a parse listener that attaches the
+ * {@link ProcessTimings} listeners to the CRUD process and each of its activities when the process is deployed
+ * (also to the respond-async variant, whose key shares the prefix). They are built-in listeners, so they also run
+ * when custom listeners are skipped, and other process definitions are left untouched.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.metrics.process", name = "enabled", havingValue = "true")
+public class ProcessMetricsPlugin extends AbstractProcessEnginePlugin {
+
+    private static final String PROCESS_KEY_PREFIX = "DemoAIProjectCRUDProcess";
+
+    private final ProcessTimings timings;
+
+    public ProcessMetricsPlugin(ProcessTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<BpmnParseListener> parseListeners = new ArrayList<>();
+        if (configuration.getCustomPreBPMNParseListeners() != null) {
+            parseListeners.addAll(configuration.getCustomPreBPMNParseListeners());
+        }
+        parseListeners.add(new AbstractBpmnParseListener() {
+            @Override
+            public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+                // Called once the whole process has been parsed, so all its activities exist.
+                if (processDefinition.getKey().startsWith(PROCESS_KEY_PREFIX)) {
+                    processDefinition.addBuiltInListener(ExecutionListener.EVENTNAME_START, timings.processListener());
+                    processDefinition.addBuiltInListener(ExecutionListener.EVENTNAME_END, timings.processListener());
+                    attach(processDefinition.getActivities());
+                }
+            }
+        });
+        configuration.setCustomPreBPMNParseListeners(parseListeners);
+    }
+
+    private void attach(List<ActivityImpl> activities) {
+        for (ActivityImpl activity : activities) {
+            activity.addBuiltInListener(ExecutionListener.EVENTNAME_START, timings.activityListener());
+            activity.addBuiltInListener(ExecutionListener.EVENTNAME_END, timings.activityListener());
+            attach(activity.getActivities());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.mls.workflow.camunda.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of the CRUD process, fed by the execution listeners {@link ProcessMetricsPlugin} attaches to it:
+ * <ul>
+ *     <li>{@code cadastro.process.activity}: each activity, from its start to its end listeners, tagged with
+ *     {@code activity} and {@code tarefa};</li>
+ *     <li>{@code cadastro.process.duration}: the process instance, from start to end, tagged with {@code tarefa};</li>
+ *     <li>{@code cadastro.process.commit}: from the end of the instance until its transaction has committed, which
+ *     is where the engine flushes its inserts.</li>
+ * </ul>
+ * The {@code tarefa} tag is the operation chosen by {@code IdentificarTarefaDelegate}, {@code none} before it has
+ * run and {@code other} for unknown values.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.metrics.process", name = "enabled", havingValue = "true")
+public class ProcessTimings {
+
+    private static final Set<String> TAREFAS = Set.of("CREATE", "READ", "UPDATE", "DELETE", "UPSERT");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    // Start times by execution and activity; an instance that fails midway leaves its entries to expire.
+    private final Cache<String, Long> startedAt = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(100_000)
+            .build();
+
+    private final ExecutionListener activityListener = this::onActivityEvent;
+    private final ExecutionListener processListener = this::onProcessEvent;
+
+    public ProcessTimings(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    ExecutionListener activityListener() {
+        return activityListener;
+    }
+
+    ExecutionListener processListener() {
+        return processListener;
+    }
+
+    void onActivityEvent(DelegateExecution execution) {
+        String key = execution.getId() + ':' + execution.getCurrentActivityId();
+        if (ExecutionListener.EVENTNAME_START.equals(execution.getEventName())) {
+            startedAt.put(key, System.nanoTime());
+            return;
+        }
+        Long start = startedAt.getIfPresent(key);
+        if (start != null) {
+            startedAt.invalidate(key);
+            timer("cadastro.process.activity", "Execution time of a CRUD process activity",
+                    "activity", execution.getCurrentActivityId(), "tarefa", tarefa(execution))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void onProcessEvent(DelegateExecution execution) {
+        String key = execution.getProcessInstanceId();
+        if (ExecutionListener.EVENTNAME_START.equals(execution.getEventName())) {
+            startedAt.put(key, System.nanoTime());
+            return;
+        }
+        long endedAt = System.nanoTime();
+        String tarefa = tarefa(execution);
+        Long start = startedAt.getIfPresent(key);
+        if (start != null) {
+            startedAt.invalidate(key);
+            timer("cadastro.process.duration", "CRUD process instance time from start to end", "tarefa", tarefa)
+                    .record(endedAt - start, TimeUnit.NANOSECONDS);
+        }
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            Timer commitTimer = timer("cadastro.process.commit",
+                    "Time from the end of a CRUD process instance until its transaction committed", "tarefa", tarefa);
+            commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+                    committed -> commitTimer.record(System.nanoTime() - endedAt, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static String tarefa(DelegateExecution execution) {
+        Object tarefa = execution.getVariable("tarefa");
+        if (tarefa == null) {
+            return "none";
+        }
+        return TAREFAS.contains(tarefa.toString()) ? tarefa.toString() : "other";
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return timers.computeIfAbsent(name + String.join("|", tags), key -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+    }
+}
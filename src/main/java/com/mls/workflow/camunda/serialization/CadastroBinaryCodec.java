@@ -0,0 +1,304 @@
+package com.mls.workflow.camunda.serialization;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.PayloadDto;
+import com.mls.workflow.core.dto.v1.CreateRequestDto;
+import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary format of {@link CadastroBinarySerializer}.
+ * <p>
+ * A value is {@code magic | version | value}; each value is a one-byte tag followed by its data. Integers are
+ * zig-zag varints and strings a varint length followed by UTF-8. A DTO writes a bitmask of its non-null fields,
+ * then those fields in declaration order. Layouts never change within a version: a DTO gaining or losing a field
+ * means a new {@link #VERSION}, and {@link #decode} keeps a branch for each version still found in the database.
+ */
+final class CadastroBinaryCodec {
+
+    static final int MAGIC = 0xCA;
+    static final int VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int BOOLEAN = 2;
+    private static final int INTEGER = 3;
+    private static final int LONG = 4;
+    private static final int DOUBLE = 5;
+    private static final int MAP = 6;
+    private static final int LIST = 7;
+    private static final int CADASTRO = 16;
+    private static final int CREATE_REQUEST = 17;
+    private static final int UPDATE_REQUEST = 18;
+    private static final int PAYLOAD = 19;
+
+    private static final int MAX_NESTING = 32;
+
+    private CadastroBinaryCodec() {
+    }
+
+    /**
+     * Whether {@code value} can be written: one of the request/result DTOs, or a {@link HashMap} or
+     * {@link LinkedHashMap} with string keys (such as the {@code processVariables} inputs) holding only such DTOs and
+     * maps, {@link ArrayList}s, strings, numbers and booleans. Other map and list classes (immutable, sorted...) are
+     * left out, since they would come back as a different class.
+     */
+    static boolean canEncode(Object value) {
+        return (isMap(value) || isDto(value)) && isEncodable(value, 0);
+    }
+
+    /**
+     * The class {@link #decode} returns for {@code value}: maps always come back as {@link LinkedHashMap}.
+     */
+    static Class<?> decodedType(Object value) {
+        return isMap(value) ? LinkedHashMap.class : value.getClass();
+    }
+
+    private static boolean isMap(Object value) {
+        return value != null && (value.getClass() == HashMap.class || value.getClass() == LinkedHashMap.class);
+    }
+
+    private static boolean isDto(Object value) {
+        return value instanceof CadastroDto || value instanceof CreateRequestDto
+                || value instanceof UpdateRequestDto || value instanceof PayloadDto;
+    }
+
+    private static boolean isEncodable(Object value, int depth) {
+        if (depth > MAX_NESTING) {
+            return false;
+        }
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Double || isDto(value)) {
+            return true;
+        }
+        if (isMap(value)) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!(entry.getKey() instanceof String) || !isEncodable(entry.getValue(), depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value != null && value.getClass() == ArrayList.class) {
+            for (Object element : (List<?>) value) {
+                if (!isEncodable(element, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    static byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        writeValue(out, value);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static Object decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readUnsignedByte() != MAGIC) {
+            throw new StreamCorruptedException("Not a cadastro binary value");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported cadastro binary version " + version);
+        }
+        return readValue(in);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(INTEGER);
+            writeVarLong(out, integer);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            writeVarLong(out, number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            writeVarLong(out, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, (String) entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            writeVarLong(out, list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof CadastroDto cadastro) {
+            out.writeByte(CADASTRO);
+            writeFields(out, cadastro.getId(), cadastro.getNome(), cadastro.getEmail(), cadastro.getIdade());
+        } else if (value instanceof CreateRequestDto request) {
+            out.writeByte(CREATE_REQUEST);
+            writeFields(out, request.getNome(), request.getEmail(), request.getIdade());
+        } else if (value instanceof UpdateRequestDto request) {
+            out.writeByte(UPDATE_REQUEST);
+            writeFields(out, request.getNome(), request.getEmail(), request.getIdade());
+        } else if (value instanceof PayloadDto payload) {
+            out.writeByte(PAYLOAD);
+            writeFields(out, payload.getNome(), payload.getEmail(), payload.getIdade());
+        } else {
+            throw new IllegalArgumentException("Cannot encode " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case BOOLEAN:
+                return in.readBoolean();
+            case INTEGER:
+                return (int) readVarLong(in);
+            case LONG:
+                return readVarLong(in);
+            case DOUBLE:
+                return in.readDouble();
+            case MAP: {
+                int size = readSize(in);
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                return map;
+            }
+            case LIST: {
+                int size = readSize(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case CADASTRO: {
+                int present = in.readUnsignedByte();
+                CadastroDto cadastro = new CadastroDto();
+                cadastro.setId((present & 1) != 0 ? readVarLong(in) : null);
+                cadastro.setNome((present & 2) != 0 ? readString(in) : null);
+                cadastro.setEmail((present & 4) != 0 ? readString(in) : null);
+                cadastro.setIdade((present & 8) != 0 ? (int) readVarLong(in) : 0);
+                return cadastro;
+            }
+            case CREATE_REQUEST: {
+                int present = in.readUnsignedByte();
+                CreateRequestDto request = new CreateRequestDto();
+                request.setNome((present & 1) != 0 ? readString(in) : null);
+                request.setEmail((present & 2) != 0 ? readString(in) : null);
+                request.setIdade((present & 4) != 0 ? (int) readVarLong(in) : null);
+                return request;
+            }
+            case UPDATE_REQUEST: {
+                int present = in.readUnsignedByte();
+                UpdateRequestDto request = new UpdateRequestDto();
+                request.setNome((present & 1) != 0 ? readString(in) : null);
+                request.setEmail((present & 2) != 0 ? readString(in) : null);
+                request.setIdade((present & 4) != 0 ? (int) readVarLong(in) : null);
+                return request;
+            }
+            case PAYLOAD: {
+                int present = in.readUnsignedByte();
+                PayloadDto payload = new PayloadDto();
+                payload.setNome((present & 1) != 0 ? readString(in) : null);
+                payload.setEmail((present & 2) != 0 ? readString(in) : null);
+                payload.setIdade((present & 4) != 0 ? (int) readVarLong(in) : 0);
+                return payload;
+            }
+            default:
+                throw new StreamCorruptedException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Writes the bitmask of non-null fields, then each non-null field (strings, or integers as varints).
+     */
+    private static void writeFields(DataOutputStream out, Object... fields) throws IOException {
+        int present = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                present |= 1 << i;
+            }
+        }
+        out.writeByte(present);
+        for (Object field : fields) {
+            if (field instanceof String string) {
+                writeString(out, string);
+            } else if (field instanceof Number number) {
+                writeVarLong(out, number.longValue());
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[readSize(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int readSize(DataInputStream in) throws IOException {
+        long size = readVarLong(in);
+        if (size < 0 || size > in.available()) {
+            throw new StreamCorruptedException("Invalid length " + size);
+        }
+        return (int) size;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+}
@@ -0,0 +1,63 @@
+package com.mls.workflow.camunda.serialization;
+
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Object value serializer writing the cadastro DTOs and the {@code processVariables} maps in the compact
+ * {@link CadastroBinaryCodec} format instead of Java serialization.
+ * <p>
+ * The engine's default format stays Java serialization, so only values that ask for {@link #DATA_FORMAT}, through
+ * {@link #objectValue}, are written by this serializer; every other object variable is unaffected. The serializer
+ * name is stored with each variable, so rows written by the Java serializer keep being read by it.
+ */
+public class CadastroBinarySerializer extends AbstractObjectValueSerializer {
+
+    public static final String NAME = "cadastro-binary";
+    public static final String DATA_FORMAT = "application/x-cadastro-binary";
+
+    public CadastroBinarySerializer() {
+        super(DATA_FORMAT);
+    }
+
+    /**
+     * {@code value} as a variable stored in this format when it can be encoded, otherwise as an untyped value left
+     * to the engine's default serialization.
+     */
+    public static TypedValue objectValue(Object value) {
+        return CadastroBinaryCodec.canEncode(value)
+                ? Variables.objectValue(value).serializationDataFormat(DATA_FORMAT).create()
+                : Variables.untypedValue(value);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected boolean isSerializationTextBased() {
+        return false;
+    }
+
+    @Override
+    protected String getTypeNameForDeserialized(Object deserializedObject) {
+        return CadastroBinaryCodec.decodedType(deserializedObject).getName();
+    }
+
+    @Override
+    protected byte[] serializeToByteArray(Object deserializedObject) throws Exception {
+        return CadastroBinaryCodec.encode(deserializedObject);
+    }
+
+    @Override
+    protected Object deserializeFromByteArray(byte[] object, String objectTypeName) throws Exception {
+        return CadastroBinaryCodec.decode(object);
+    }
+
+    @Override
+    protected boolean canSerializeValue(Object value) {
+        return CadastroBinaryCodec.canEncode(value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.mls.workflow.camunda.serialization;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine plugin ({@code cadastro.serialization.binary.enabled}) registering {@link CadastroBinarySerializer} ahead
+ * of the built-in serializers. The default serialization format is left alone: only variables created with
+ * {@link CadastroBinarySerializer#objectValue} are written in the binary format.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.serialization.binary", name = "enabled", havingValue = "true")
+public class CadastroSerializationPlugin extends AbstractProcessEnginePlugin {
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<TypedValueSerializer> serializers = new ArrayList<>();
+        serializers.add(new CadastroBinarySerializer());
+        if (configuration.getCustomPreVariableSerializers() != null) {
+            serializers.addAll(configuration.getCustomPreVariableSerializers());
+        }
+        configuration.setCustomPreVariableSerializers(serializers);
+    }
+}
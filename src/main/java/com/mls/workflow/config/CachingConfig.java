@@ -0,0 +1,42 @@
+package com.mls.workflow.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    public static final String CADASTRO_CACHE = "cadastro";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cadastro.cache.enabled:true}") boolean enabled,
+                                     @Value("${cadastro.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${cadastro.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+
+        // Caffeine's W-TinyLFU policy keeps frequently read records when the size bound is hit.
+        // recordStats() feeds the cache.gets/cache.evictions meters published by actuator.
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(CADASTRO_CACHE);
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+
+        // Puts and evictions are deferred until the surrounding transaction (e.g. the engine's) commits,
+        // so a rolled back write never leaves uncommitted data in the cache.
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -1,29 +1,123 @@
 package com.mls.workflow.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 public class DatabaseInitializerConfig implements CommandLineRunner {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseInitializerConfig.class);
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Value("${cadastro.email.unique:false}")
+    private boolean uniqueEmail;
+
+    /** In the cluster profile only one node runs the DDL below; the others wait for it. */
+    @Value("${cadastro.cluster.schema-owner:true}")
+    private boolean schemaOwner;
+
+    @Value("${cadastro.cluster.schema-wait:2m}")
+    private Duration schemaWait;
+
     @Override
     public void run(String... args) throws Exception {
+        if (!schemaOwner) {
+            awaitSchema();
+            return;
+        }
+
         // Create the AIC_CADASTRO table if it doesn't exist
         String createTableSql = """
             CREATE TABLE IF NOT EXISTS AIC_CADASTRO (
                 ID BIGINT AUTO_INCREMENT PRIMARY KEY,
                 NOME VARCHAR(255) NOT NULL,
                 EMAIL VARCHAR(255) NOT NULL,
-                IDADE INT
+                IDADE INT,
+                EMAIL_NORM VARCHAR(255) GENERATED ALWAYS AS (LOWER(TRIM(EMAIL))),
+                DELETED_AT TIMESTAMP,
+                EMAIL_LIVE VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN DELETED_AT IS NULL THEN LOWER(TRIM(EMAIL)) END)
             )
             """;
-        
+
         jdbcTemplate.execute(createTableSql);
-        System.out.println("Table AIC_CADASTRO created successfully");
+        LOG.info("Table AIC_CADASTRO created successfully");
+
+        // Tables created before the e-mail lookup existed get the normalized column added in place.
+        jdbcTemplate.execute("ALTER TABLE AIC_CADASTRO ADD COLUMN IF NOT EXISTS EMAIL_NORM VARCHAR(255) GENERATED ALWAYS AS (LOWER(TRIM(EMAIL)))");
+
+        // Soft-delete tombstone (cadastro.delete.mode=soft); indexed for the purger's scan.
+        jdbcTemplate.execute("ALTER TABLE AIC_CADASTRO ADD COLUMN IF NOT EXISTS DELETED_AT TIMESTAMP");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_AIC_CADASTRO_DELETED_AT ON AIC_CADASTRO (DELETED_AT)");
+
+        // Normalized e-mail of live rows only, NULL once tombstoned: the key of the unique index.
+        jdbcTemplate.execute("ALTER TABLE AIC_CADASTRO ADD COLUMN IF NOT EXISTS EMAIL_LIVE VARCHAR(255) "
+                + "GENERATED ALWAYS AS (CASE WHEN DELETED_AT IS NULL THEN LOWER(TRIM(EMAIL)) END)");
+        createEmailIndexes();
+
+        // Change events written with each mutation (cadastro.outbox.enabled), read back by SEQ.
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS AIC_CADASTRO_OUTBOX (
+                SEQ BIGINT AUTO_INCREMENT PRIMARY KEY,
+                OPERACAO VARCHAR(16) NOT NULL,
+                CADASTRO_ID BIGINT NOT NULL,
+                NOME VARCHAR(255),
+                EMAIL VARCHAR(255),
+                IDADE INT,
+                CREATED_AT TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
+            )
+            """);
+    }
+
+    private void awaitSchema() throws InterruptedException {
+        long deadline = System.nanoTime() + schemaWait.toNanos();
+        // The outbox table is created last by run().
+        while (!tableExists("AIC_CADASTRO_OUTBOX")) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("AIC_CADASTRO was not created by the schema owner within " + schemaWait);
+            }
+            LOG.info("Waiting for the schema owner node to create AIC_CADASTRO");
+            Thread.sleep(1000);
+        }
+        LOG.info("AIC_CADASTRO schema is in place");
+    }
+
+    private boolean tableExists(String tableName) {
+        Integer tables = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = ?", Integer.class, tableName);
+        return tables != null && tables > 0;
+    }
+
+    /**
+     * Lookups use the plain index on EMAIL_NORM. Uniqueness ({@code cadastro.email.unique}) is enforced on
+     * EMAIL_LIVE, which is NULL for tombstoned rows, and NULLs never collide: a soft-deleted e-mail can be registered
+     * again right away instead of waiting for the purger. The index follows the flag on every start, so it is also
+     * dropped when the flag is turned off.
+     */
+    private void createEmailIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_AIC_CADASTRO_EMAIL_NORM ON AIC_CADASTRO (EMAIL_NORM)");
+        LOG.info("Index on AIC_CADASTRO.EMAIL_NORM is in place");
+        // Earlier unique index, which also counted tombstoned rows.
+        jdbcTemplate.execute("DROP INDEX IF EXISTS UK_AIC_CADASTRO_EMAIL_NORM");
+        if (uniqueEmail) {
+            try {
+                jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS UK_AIC_CADASTRO_EMAIL_LIVE ON AIC_CADASTRO (EMAIL_LIVE)");
+                LOG.info("Unique index on AIC_CADASTRO.EMAIL_LIVE is in place");
+            } catch (DataAccessException e) {
+                LOG.warn("Could not enforce unique e-mails, live rows contain duplicates: {}", e.getMostSpecificCause().getMessage());
+            }
+        } else {
+            // Turning the flag off again lifts the constraint on the next start.
+            jdbcTemplate.execute("DROP INDEX IF EXISTS UK_AIC_CADASTRO_EMAIL_LIVE");
+        }
     }
-}
\ No newline at end of file
+}
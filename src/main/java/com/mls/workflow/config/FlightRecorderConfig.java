@@ -0,0 +1,36 @@
+package com.mls.workflow.config;
+
+import com.mls.workflow.core.service.CadastroService;
+import com.mls.workflow.jfr.CadastroServiceEventInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    /**
+     * Records the public methods of CadastroService as flight recorder events. Infrastructure role, so it is
+     * applied by the same auto-proxy creator as @Transactional, without an AspectJ dependency.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor cadastroServiceEventAdvisor() {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() == CadastroService.class && Modifier.isPublic(method.getModifiers());
+            }
+        };
+        pointcut.setClassFilter(new RootClassFilter(CadastroService.class));
+        return new DefaultPointcutAdvisor(pointcut, new CadastroServiceEventInterceptor());
+    }
+}
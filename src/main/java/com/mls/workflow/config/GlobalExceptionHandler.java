@@ -1,10 +1,13 @@
 package com.mls.workflow.config;
 
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import java.time.OffsetDateTime;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -31,4 +34,49 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.badRequest().body(body);
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<?> handleConstraintViolation(ConstraintViolationException ex) {
+        var errors = ex.getConstraintViolations()
+                .stream()
+                .collect(Collectors.toMap(
+                        cv -> cv.getPropertyPath().toString(),
+                        cv -> cv.getMessage(),
+                        (a, b) -> a
+                ));
+
+        var body = Map.of(
+                "path", "N/A",
+                "error", "Bad Request",
+                "message", "Validation error",
+                "errors", errors,
+                "timestamp", OffsetDateTime.now().toString(),
+                "status", 400
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<?> handleDuplicateKey(DuplicateKeyException ex) {
+        var body = Map.of(
+                "path", "N/A",
+                "error", "Conflict",
+                "message", "Registro duplicado: " + ex.getMostSpecificCause().getMessage(),
+                "timestamp", OffsetDateTime.now().toString(),
+                "status", 409
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> handleRejectedExecution(RejectedExecutionException ex) {
+        var body = Map.of(
+                "path", "N/A",
+                "error", "Service Unavailable",
+                "message", ex.getMessage(),
+                "timestamp", OffsetDateTime.now().toString(),
+                "status", 503
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
 }
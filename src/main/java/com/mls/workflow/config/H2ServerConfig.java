@@ -0,0 +1,41 @@
+package com.mls.workflow.config;
+
+import org.h2.tools.Server;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AbstractDependsOnBeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Hosts the H2 TCP server of the cluster profile in this JVM ({@code cadastro.cluster.h2-server.enabled}). It only
+ * listens on the loopback interface; the data source is created after it, so this node can connect to itself.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cadastro.cluster.h2-server", name = "enabled", havingValue = "true")
+public class H2ServerConfig {
+
+    public static final String SERVER_BEAN = "h2TcpServer";
+
+    @Bean(name = SERVER_BEAN, initMethod = "start", destroyMethod = "stop")
+    public Server h2TcpServer(@Value("${cadastro.cluster.h2-server.port:9092}") int port,
+                              @Value("${cadastro.cluster.h2-server.base-dir:.}") String baseDir) throws SQLException {
+        // -ifNotExists lets the first node create the database remotely.
+        return Server.createTcpServer("-tcpPort", String.valueOf(port), "-baseDir", baseDir, "-ifNotExists");
+    }
+
+    @Bean
+    public static DataSourceDependsOnH2Server dataSourceDependsOnH2Server() {
+        return new DataSourceDependsOnH2Server();
+    }
+
+    static class DataSourceDependsOnH2Server extends AbstractDependsOnBeanFactoryPostProcessor {
+
+        DataSourceDependsOnH2Server() {
+            super(DataSource.class, SERVER_BEAN);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.mls.workflow.config;
+
+import com.mls.workflow.jfr.ApiRequestInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // One flight recorder event per cadastro API request.
+        registry.addInterceptor(new ApiRequestInterceptor()).addPathPatterns("/api/v1/cadastro", "/api/v1/cadastro/**");
+    }
+}
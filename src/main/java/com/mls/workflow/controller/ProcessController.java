@@ -11,6 +11,8 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -76,8 +78,9 @@ public class ProcessController {
         variables.put("payload", request.getPayload());
 
         // This logic is kept for backward compatibility, but the new V1 controller is preferred.
-        Map<String, Object> processVariables = new HashMap<>();
-        processVariables.put("processVariables", variables);
+        // Transient: the process unpacks the map in its first task, so it never needs to be stored.
+        VariableMap processVariables = Variables.createVariables()
+                .putValueTyped("processVariables", Variables.untypedValue(variables, true));
 
 
         String businessKey;
@@ -1,53 +1,148 @@
 package com.mls.workflow.controller.v1;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mls.workflow.core.dto.BatchItemResultDto;
 import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.AsyncRequestStatusDto;
+import com.mls.workflow.core.dto.v1.BatchRequestDto;
+import com.mls.workflow.core.dto.v1.BatchResponseDto;
+import com.mls.workflow.core.dto.v1.CadastroChangeFeedDto;
+import com.mls.workflow.core.dto.v1.CadastroPageDto;
+import com.mls.workflow.core.dto.v1.CadastroSearchHitDto;
+import com.mls.workflow.core.dto.v1.CadastroStatsDto;
 import com.mls.workflow.core.dto.v1.CreateRequestDto;
+import com.mls.workflow.core.dto.v1.ImportResultDto;
 import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+import com.mls.workflow.core.search.CadastroSearchService;
+import com.mls.workflow.core.service.CadastroChangeFeed;
+import com.mls.workflow.core.stats.CadastroStatsService;
+import com.mls.workflow.core.service.CadastroImportService;
+import com.mls.workflow.core.service.CadastroService;
+import com.mls.workflow.jfr.ProcessStartEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import com.mls.workflow.camunda.async.AsyncCadastroProcess;
+import com.mls.workflow.camunda.batch.ProcessStartBatcher;
 import org.camunda.bpm.engine.RuntimeService;
-import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/cadastro")
 @Tag(name = "Cadastro V1", description = "API RESTful para operações de cadastro orquestradas por BPMN")
 @Validated
-@RequiredArgsConstructor
 public class CadastroControllerV1 {
 
     private final RuntimeService runtimeService;
+    private final CadastroService cadastroService;
+    private final CadastroImportService cadastroImportService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ProcessStartBatcher> processStartBatcher;
+    private final ObjectProvider<CadastroChangeFeed> changeFeed;
+    private final ObjectProvider<CadastroSearchService> searchService;
+    private final ObjectProvider<CadastroStatsService> statsService;
+    private final ObjectProvider<AsyncCadastroProcess> asyncProcess;
+
+    /** Serve GET /{id} straight from CadastroService instead of starting a process instance. */
+    private final boolean readFastPath;
+
+    private final Counter readFastPathRequests;
+    private final Counter readEngineRequests;
 
     private static final String PROCESS_DEFINITION_KEY = "DemoAIProjectCRUDProcess";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+    private static final String MERGE_PATCH_MEDIA_TYPE = "application/merge-patch+json";
+    private static final String PREFER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    public CadastroControllerV1(RuntimeService runtimeService,
+                                CadastroService cadastroService,
+                                CadastroImportService cadastroImportService,
+                                ObjectMapper objectMapper,
+                                ObjectProvider<ProcessStartBatcher> processStartBatcher,
+                                ObjectProvider<CadastroChangeFeed> changeFeed,
+                                ObjectProvider<CadastroSearchService> searchService,
+                                ObjectProvider<CadastroStatsService> statsService,
+                                ObjectProvider<AsyncCadastroProcess> asyncProcess,
+                                MeterRegistry meterRegistry,
+                                @Value("${cadastro.fast-path.read:false}") boolean readFastPath) {
+        this.runtimeService = runtimeService;
+        this.cadastroService = cadastroService;
+        this.cadastroImportService = cadastroImportService;
+        this.objectMapper = objectMapper;
+        this.processStartBatcher = processStartBatcher;
+        this.changeFeed = changeFeed;
+        this.searchService = searchService;
+        this.statsService = statsService;
+        this.asyncProcess = asyncProcess;
+        this.readFastPath = readFastPath;
+        this.readFastPathRequests = Counter.builder("cadastro.requests")
+                .description("Requests per endpoint and execution path (fast: CadastroService, engine: BPMN process)")
+                .tags("endpoint", "read", "path", "fast")
+                .register(meterRegistry);
+        this.readEngineRequests = Counter.builder("cadastro.requests")
+                .description("Requests per endpoint and execution path (fast: CadastroService, engine: BPMN process)")
+                .tags("endpoint", "read", "path", "engine")
+                .register(meterRegistry);
+    }
 
     @PostMapping
     @Operation(summary = "Cria um novo registro de cadastro", responses = {
             @ApiResponse(responseCode = "201", description = "Registro criado com sucesso"),
+            @ApiResponse(responseCode = "202", description = "Solicitação aceita para execução assíncrona (Prefer: respond-async)"),
             @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos")
     })
-    public ResponseEntity<CadastroDto> create(@Valid @RequestBody CreateRequestDto createRequest) {
+    public ResponseEntity<?> create(@Valid @RequestBody CreateRequestDto createRequest,
+                                    @RequestHeader(value = PREFER, required = false) String prefer) {
         Map<String, Object> processVariables = new HashMap<>();
         processVariables.put("tarefa", "CREATE");
         processVariables.put("payload", createRequest);
 
-        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, UUID.randomUUID().toString(), Variables.createVariables().putValue("processVariables", processVariables));
+        String businessKey = UUID.randomUUID().toString();
+        if (respondAsync(prefer)) {
+            return accepted(businessKey, processVariables);
+        }
 
-        VariableMap variables = runtimeService.getVariablesTyped(processInstance.getProcessInstanceId(), false);
+        VariableMap variables = startWriteProcess(businessKey, processVariables);
         CadastroDto result = variables.getValue("result", CadastroDto.class);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -56,19 +151,182 @@ public class CadastroControllerV1 {
         return ResponseEntity.created(location).body(result);
     }
 
+    @GetMapping
+    @Operation(summary = "Lista registros com paginação por chave (keyset)",
+            description = "Retorna até 'limit' registros com ID maior que 'after', em ordem de ID. "
+                    + "Use o campo 'nextAfter' da resposta como 'after' da próxima página.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Página de registros"),
+                    @ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos")
+            })
+    public ResponseEntity<CadastroPageDto> list(@RequestParam(required = false) Long after,
+                                                @RequestParam(defaultValue = "100") @Min(1) @Max(CadastroService.MAX_PAGE_SIZE) int limit) {
+        List<CadastroDto> items = cadastroService.list(after, limit);
+        return ResponseEntity.ok(CadastroPageDto.of(items, limit));
+    }
+
+    @GetMapping("/count")
+    @Operation(summary = "Conta os registros", responses = {
+            @ApiResponse(responseCode = "200", description = "Quantidade de registros")
+    })
+    public ResponseEntity<Long> count() {
+        return ResponseEntity.ok(cadastroService.count());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Estatísticas do cadastro",
+            description = "Total de registros, histograma por faixa de idade e domínios de e-mail mais frequentes, "
+                    + "mantidos em memória e atualizados a cada escrita, sem consultar a tabela.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Estatísticas atuais"),
+                    @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+                    @ApiResponse(responseCode = "404", description = "Estatísticas desabilitadas")
+            })
+    public ResponseEntity<CadastroStatsDto> stats(@RequestParam(defaultValue = "10") @Min(1) @Max(CadastroStatsService.MAX_TOP_DOMAINS) int top) {
+        CadastroStatsService stats = statsService.getIfAvailable();
+        if (stats == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Estatísticas desabilitadas");
+        }
+        return ResponseEntity.ok(stats.snapshot(top));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Exporta todos os registros em NDJSON",
+            description = "Transmite a tabela inteira, um registro JSON por linha, lendo-a por um cursor JDBC. "
+                    + "A resposta é compactada com gzip quando o cliente envia 'Accept-Encoding: gzip'.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exportação transmitida",
+                            content = @Content(mediaType = NDJSON_MEDIA_TYPE))
+            })
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        ObjectWriter rowWriter = objectMapper.writerFor(CadastroDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                generator.setRootValueSeparator(null);
+                cadastroService.exportAll(cadastro -> {
+                    try {
+                        rowWriter.writeValue(generator, cadastro);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cadastro-export.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/by-email")
+    @Operation(summary = "Busca um registro por e-mail", description = "A comparação ignora maiúsculas/minúsculas e espaços nas extremidades.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Registro encontrado"),
+                    @ApiResponse(responseCode = "404", description = "Registro não encontrado")
+            })
+    public ResponseEntity<CadastroDto> findByEmail(@RequestParam @NotBlank String email) {
+        return cadastroService.findByEmail(email)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Busca registros por parte do nome",
+            description = "Busca em índice de memória, sem acentos nem diferença de maiúsculas. Termos com 3 ou mais letras "
+                    + "casam em qualquer parte do nome, termos menores com o início de uma palavra. Todos os termos devem casar. "
+                    + "Resultados ordenados por relevância (palavra inteira, início de palavra, trecho) e nomes mais curtos.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "IDs e nomes encontrados, do mais ao menos relevante"),
+                    @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+                    @ApiResponse(responseCode = "404", description = "Busca desabilitada")
+            })
+    public ResponseEntity<List<CadastroSearchHitDto>> search(@RequestParam @NotBlank String q,
+                                                             @RequestParam(defaultValue = "20") @Min(1) @Max(CadastroSearchService.MAX_LIMIT) int limit) {
+        CadastroSearchService search = searchService.getIfAvailable();
+        if (search == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Busca por nome desabilitada");
+        }
+        return ResponseEntity.ok(search.search(q, limit));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Lê o feed de alterações a partir de um cursor",
+            description = "Retorna até 'limit' eventos (CREATE, UPDATE, UPSERT, DELETE) com sequência maior que 'after'. "
+                    + "Sem eventos novos, a requisição aguarda até 'wait' segundos por um commit. "
+                    + "Use o campo 'next' da resposta como 'after' da próxima leitura. Requer cadastro.outbox.enabled=true.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Página de eventos, possivelmente vazia"),
+                    @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+                    @ApiResponse(responseCode = "404", description = "Feed de alterações desabilitado")
+            })
+    public DeferredResult<CadastroChangeFeedDto> changes(@RequestParam(defaultValue = "0") @Min(0) long after,
+                                                         @RequestParam(defaultValue = "100") @Min(1) @Max(CadastroChangeFeed.MAX_LIMIT) int limit,
+                                                         @RequestParam(defaultValue = "30") @Min(0) @Max(120) int wait) {
+        CadastroChangeFeed feed = changeFeed.getIfAvailable();
+        if (feed == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Feed de alterações desabilitado");
+        }
+        return feed.poll(after, limit, Duration.ofSeconds(wait));
+    }
+
+    @GetMapping("/requests/{requestId}")
+    @Operation(summary = "Consulta uma solicitação assíncrona",
+            description = "Estado de uma solicitação aceita com 'Prefer: respond-async': PENDING enquanto aguarda o job executor, "
+                    + "COMPLETED com statusCode, message e result da operação, ou FAILED quando a execução se esgotou em erros. "
+                    + "Resultados ficam disponíveis por cadastro.async.result-ttl.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Estado da solicitação"),
+                    @ApiResponse(responseCode = "404", description = "Solicitação desconhecida, expirada ou modo assíncrono desabilitado")
+            })
+    public ResponseEntity<AsyncRequestStatusDto> requestStatus(@PathVariable String requestId) {
+        AsyncCadastroProcess async = asyncProcess.getIfAvailable();
+        if (async == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Modo assíncrono desabilitado");
+        }
+        return async.status(requestId)
+                .map(status -> AsyncRequestStatusDto.PENDING.equals(status.getStatus())
+                        ? ResponseEntity.ok().header(HttpHeaders.RETRY_AFTER, "1").body(status)
+                        : ResponseEntity.ok(status))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Busca um registro por ID", responses = {
             @ApiResponse(responseCode = "200", description = "Registro encontrado"),
+            @ApiResponse(responseCode = "202", description = "Solicitação aceita para execução assíncrona (Prefer: respond-async)"),
             @ApiResponse(responseCode = "404", description = "Registro não encontrado")
     })
-    public ResponseEntity<CadastroDto> read(@PathVariable Long id) {
+    public ResponseEntity<?> read(@PathVariable Long id,
+                                  @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (readFastPath) {
+            // A primary-key lookup has no workflow to run: skip the process instance and its variable/history writes.
+            readFastPathRequests.increment();
+            return cadastroService.read(id)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+        readEngineRequests.increment();
+
         Map<String, Object> processVariables = new HashMap<>();
         processVariables.put("tarefa", "READ");
         processVariables.put("id", id);
 
-        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, id.toString(), Variables.createVariables().putValue("processVariables", processVariables));
+        if (respondAsync(prefer)) {
+            return accepted(id.toString(), processVariables);
+        }
 
-        VariableMap variables = runtimeService.getVariablesTyped(processInstance.getProcessInstanceId(), false);
+        VariableMap variables = startProcess(id.toString(), processVariables);
         Integer statusCode = variables.getValue("statusCode", Integer.class);
 
         if (statusCode != null && statusCode == 404) {
@@ -79,21 +337,50 @@ public class CadastroControllerV1 {
         return ResponseEntity.ok(result);
     }
 
+    @PutMapping("/upsert")
+    @Operation(summary = "Cria ou atualiza um registro identificado pelo e-mail",
+            description = "Executa um único MERGE: se já existir um registro com o mesmo e-mail (ignorando maiúsculas e espaços), "
+                    + "ele é sobrescrito; caso contrário, um novo registro é criado.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Registro criado ou atualizado"),
+                    @ApiResponse(responseCode = "202", description = "Solicitação aceita para execução assíncrona (Prefer: respond-async)"),
+                    @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos")
+            })
+    public ResponseEntity<?> upsert(@Valid @RequestBody CreateRequestDto upsertRequest,
+                                    @RequestHeader(value = PREFER, required = false) String prefer) {
+        Map<String, Object> processVariables = new HashMap<>();
+        processVariables.put("tarefa", "UPSERT");
+        processVariables.put("payload", upsertRequest);
+
+        String businessKey = UUID.randomUUID().toString();
+        if (respondAsync(prefer)) {
+            return accepted(businessKey, processVariables);
+        }
+
+        VariableMap variables = startWriteProcess(businessKey, processVariables);
+        CadastroDto result = variables.getValue("result", CadastroDto.class);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualiza um registro existente", responses = {
             @ApiResponse(responseCode = "200", description = "Registro atualizado com sucesso"),
+            @ApiResponse(responseCode = "202", description = "Solicitação aceita para execução assíncrona (Prefer: respond-async)"),
             @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
             @ApiResponse(responseCode = "404", description = "Registro não encontrado")
     })
-    public ResponseEntity<CadastroDto> update(@PathVariable Long id, @Valid @RequestBody UpdateRequestDto updateRequest) {
+    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody UpdateRequestDto updateRequest,
+                                    @RequestHeader(value = PREFER, required = false) String prefer) {
         Map<String, Object> processVariables = new HashMap<>();
         processVariables.put("tarefa", "UPDATE");
         processVariables.put("id", id);
         processVariables.put("payload", updateRequest);
 
-        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, id.toString(), Variables.createVariables().putValue("processVariables", processVariables));
+        if (respondAsync(prefer)) {
+            return accepted(id.toString(), processVariables);
+        }
 
-        VariableMap variables = runtimeService.getVariablesTyped(processInstance.getProcessInstanceId(), false);
+        VariableMap variables = startWriteProcess(id.toString(), processVariables);
         Integer statusCode = variables.getValue("statusCode", Integer.class);
 
         if (statusCode != null && statusCode == 404) {
@@ -104,19 +391,38 @@ public class CadastroControllerV1 {
         return ResponseEntity.ok(result);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Atualiza parcialmente um registro existente (JSON Merge Patch)",
+            description = "Somente os campos presentes são alterados, em uma única instrução SQL. "
+                    + "Como todos os atributos são obrigatórios, um valor null é tratado como ausente.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Registro atualizado com sucesso"),
+                    @ApiResponse(responseCode = "202", description = "Solicitação aceita para execução assíncrona (Prefer: respond-async)"),
+                    @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+                    @ApiResponse(responseCode = "404", description = "Registro não encontrado")
+            })
+    public ResponseEntity<?> patch(@PathVariable Long id, @Valid @RequestBody UpdateRequestDto patchRequest,
+                                   @RequestHeader(value = PREFER, required = false) String prefer) {
+        return update(id, patchRequest, prefer);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Deleta um registro existente", responses = {
             @ApiResponse(responseCode = "204", description = "Registro deletado com sucesso"),
+            @ApiResponse(responseCode = "202", description = "Solicitação aceita para execução assíncrona (Prefer: respond-async)"),
             @ApiResponse(responseCode = "404", description = "Registro não encontrado")
     })
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
+    public ResponseEntity<?> delete(@PathVariable Long id,
+                                    @RequestHeader(value = PREFER, required = false) String prefer) {
         Map<String, Object> processVariables = new HashMap<>();
         processVariables.put("tarefa", "DELETE");
         processVariables.put("id", id);
 
-        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, id.toString(), Variables.createVariables().putValue("processVariables", processVariables));
+        if (respondAsync(prefer)) {
+            return accepted(id.toString(), processVariables);
+        }
 
-        VariableMap variables = runtimeService.getVariablesTyped(processInstance.getProcessInstanceId(), false);
+        VariableMap variables = startWriteProcess(id.toString(), processVariables);
         Integer statusCode = variables.getValue("statusCode", Integer.class);
 
         if (statusCode != null && statusCode == 404) {
@@ -124,4 +430,115 @@ public class CadastroControllerV1 {
         }
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/batch")
+    @Operation(summary = "Cria, atualiza e remove registros em lote",
+            description = "Executa as operações diretamente via JDBC batch, sem iniciar uma instância de processo por registro. "
+                    + "Cada item recebe seu próprio status no resultado.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lote processado; consulte o status de cada item"),
+                    @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos")
+            })
+    public ResponseEntity<BatchResponseDto> batch(@Valid @RequestBody BatchRequestDto batchRequest) {
+        List<CadastroDto> toCreate = batchRequest.getCreate().stream()
+                .map(item -> new CadastroDto(null, item.getNome(), item.getEmail(), item.getIdade()))
+                .toList();
+        List<CadastroDto> toUpdate = batchRequest.getUpdate().stream()
+                .map(item -> new CadastroDto(item.getId(), item.getNome(), item.getEmail(), item.getIdade()))
+                .toList();
+
+        List<BatchItemResultDto> results = new ArrayList<>();
+        results.addAll(cadastroService.createAll(toCreate));
+        results.addAll(cadastroService.updateAll(toUpdate));
+        results.addAll(cadastroService.deleteAll(batchRequest.getDelete()));
+
+        return ResponseEntity.ok(BatchResponseDto.of(results));
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Importa registros de um arquivo NDJSON",
+            description = "Lê o corpo linha a linha, valida cada registro com as regras de criação e grava em lotes. "
+                    + "Aceita corpo compactado com 'Content-Encoding: gzip'.",
+            responses = @ApiResponse(responseCode = "200", description = "Importação concluída; consulte os totais e as linhas rejeitadas"))
+    public ResponseEntity<ImportResultDto> importNdjson(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(cadastroImportService.importNdjson(decode(body, contentEncoding)));
+    }
+
+    @PostMapping(value = "/import", consumes = CSV_MEDIA_TYPE)
+    @Operation(summary = "Importa registros de um arquivo CSV",
+            description = "A primeira linha deve ser o cabeçalho com as colunas nome, email e idade (separadas por ',' ou ';'). "
+                    + "Aceita corpo compactado com 'Content-Encoding: gzip'.",
+            responses = @ApiResponse(responseCode = "200", description = "Importação concluída; consulte os totais e as linhas rejeitadas"))
+    public ResponseEntity<ImportResultDto> importCsv(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(cadastroImportService.importCsv(decode(body, contentEncoding)));
+    }
+
+    /**
+     * Whether the client asked for {@code Prefer: respond-async} and the async mode is enabled. The preference is
+     * ignored otherwise, as RFC 7240 allows, and the request runs synchronously.
+     */
+    private boolean respondAsync(String prefer) {
+        if (prefer == null || asyncProcess.getIfAvailable() == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (RESPOND_ASYNC.equalsIgnoreCase(preference.split(";")[0].trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues the request on the job executor and answers 202 with the URL to poll for its result.
+     */
+    private ResponseEntity<AsyncRequestStatusDto> accepted(String businessKey, Map<String, Object> processVariables) {
+        AsyncRequestStatusDto pending = asyncProcess.getObject().start(businessKey, processVariables);
+        URI statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/cadastro/requests/{requestId}").buildAndExpand(pending.getRequestId()).toUri();
+        return ResponseEntity.accepted()
+                .location(statusUrl)
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(pending);
+    }
+
+    /**
+     * Starts a write (CREATE, UPDATE, DELETE, UPSERT) through the micro-batcher when it is enabled,
+     * so concurrent requests share one engine transaction; otherwise starts it directly.
+     */
+    private VariableMap startWriteProcess(String businessKey, Map<String, Object> processVariables) {
+        ProcessStartBatcher batcher = processStartBatcher.getIfAvailable();
+        if (batcher != null) {
+            return batcher.submit(PROCESS_DEFINITION_KEY, businessKey, startVariables(processVariables));
+        }
+        return startProcess(businessKey, processVariables);
+    }
+
+    /**
+     * Runs the CRUD process and returns its variables from the start call itself. The inputs are transient, like
+     * every variable the delegates set, so nothing is written to ACT_RU_VARIABLE or ACT_GE_BYTEARRAY and no second
+     * query is needed to read the outputs.
+     */
+    private VariableMap startProcess(String businessKey, Map<String, Object> processVariables) {
+        return ProcessStartEvent.record(PROCESS_DEFINITION_KEY, businessKey,
+                () -> runtimeService.createProcessInstanceByKey(PROCESS_DEFINITION_KEY)
+                        .businessKey(businessKey)
+                        .setVariables(startVariables(processVariables))
+                        .executeWithVariablesInReturn())
+                .getVariables();
+    }
+
+    private static VariableMap startVariables(Map<String, Object> processVariables) {
+        return Variables.createVariables().putValueTyped("processVariables", Variables.untypedValue(processVariables, true));
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        return contentEncoding != null && contentEncoding.toLowerCase().contains("gzip")
+                ? new GZIPInputStream(body, 64 * 1024)
+                : body;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mls.workflow.core.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single item of a batch operation.")
+public class BatchItemResultDto {
+
+    @Schema(description = "Operation applied to the item.", example = "CREATE")
+    private String operacao;
+
+    @Schema(description = "Position of the item inside its operation list in the request.", example = "0")
+    private int index;
+
+    @Schema(description = "Identifier of the affected registration, when known.", example = "1")
+    private Long id;
+
+    @Schema(description = "HTTP-like status code of the item outcome.", example = "201")
+    private int statusCode;
+
+    @Schema(description = "Human readable outcome message.", example = "Recurso criado com sucesso")
+    private String message;
+
+    public BatchItemResultDto() {
+    }
+
+    public BatchItemResultDto(String operacao, Long id, int statusCode, String message) {
+        this.operacao = operacao;
+        this.id = id;
+        this.statusCode = statusCode;
+        this.message = message;
+    }
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public String getOperacao() {
+        return operacao;
+    }
+
+    public void setOperacao(String operacao) {
+        this.operacao = operacao;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mls.workflow.core.dto.v1;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a request accepted with {@code Prefer: respond-async}. Once COMPLETED, {@code statusCode},
+ * {@code message} and {@code result} are what the synchronous call would have produced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncRequestStatusDto {
+
+    public static final String PENDING = "PENDING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private String requestId;
+    private String status;
+    private Integer statusCode;
+    private String message;
+    private CadastroDto result;
+
+    public static AsyncRequestStatusDto pending(String requestId) {
+        return new AsyncRequestStatusDto(requestId, PENDING, null, null, null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mls.workflow.core.dto.v1;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchRequestDto {
+
+    public static final int MAX_ITEMS_PER_OPERATION = 10_000;
+
+    @Valid
+    @NotNull
+    @Size(max = MAX_ITEMS_PER_OPERATION, message = "No máximo 10000 registros por operação.")
+    private List<@NotNull CreateRequestDto> create = new ArrayList<>();
+
+    @Valid
+    @NotNull
+    @Size(max = MAX_ITEMS_PER_OPERATION, message = "No máximo 10000 registros por operação.")
+    private List<@NotNull BatchUpdateItemDto> update = new ArrayList<>();
+
+    @NotNull
+    @Size(max = MAX_ITEMS_PER_OPERATION, message = "No máximo 10000 registros por operação.")
+    private List<@NotNull Long> delete = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.mls.workflow.core.dto.v1;
+
+import com.mls.workflow.core.dto.BatchItemResultDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponseDto {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultDto> results;
+
+    public static BatchResponseDto of(List<BatchItemResultDto> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResultDto::isSuccess).count();
+        return new BatchResponseDto(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
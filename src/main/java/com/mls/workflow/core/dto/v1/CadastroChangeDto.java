@@ -0,0 +1,27 @@
+package com.mls.workflow.core.dto.v1;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CadastroChangeDto {
+
+    /** Position in the change feed; strictly increasing. */
+    private long seq;
+
+    /** CREATE, UPDATE, UPSERT or DELETE. */
+    private String operacao;
+
+    private Long id;
+
+    /** State of the record after the change, or {@code null} for DELETE. */
+    private CadastroDto cadastro;
+
+    private Instant createdAt;
+}
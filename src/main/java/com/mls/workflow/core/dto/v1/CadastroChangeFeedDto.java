@@ -0,0 +1,23 @@
+package com.mls.workflow.core.dto.v1;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CadastroChangeFeedDto {
+
+    private List<CadastroChangeDto> changes;
+
+    /** Value to send as {@code after} on the next poll; unchanged when no change arrived before the wait expired. */
+    private long next;
+
+    public static CadastroChangeFeedDto of(List<CadastroChangeDto> changes, long after) {
+        long next = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSeq();
+        return new CadastroChangeFeedDto(changes, next);
+    }
+}
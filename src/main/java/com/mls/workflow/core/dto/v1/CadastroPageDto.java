@@ -0,0 +1,24 @@
+package com.mls.workflow.core.dto.v1;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CadastroPageDto {
+
+    private List<CadastroDto> items;
+
+    /** Value to send as {@code after} to fetch the next page, or {@code null} when this is the last page. */
+    private Long nextAfter;
+
+    public static CadastroPageDto of(List<CadastroDto> items, int limit) {
+        Long nextAfter = items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return new CadastroPageDto(items, nextAfter);
+    }
+}
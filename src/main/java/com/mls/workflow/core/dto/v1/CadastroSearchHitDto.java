@@ -0,0 +1,18 @@
+package com.mls.workflow.core.dto.v1;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CadastroSearchHitDto {
+
+    private Long id;
+
+    private String nome;
+
+    /** Higher is better: per query term, 3 for a whole word, 2 for a word prefix and 1 for a substring. */
+    private int score;
+}
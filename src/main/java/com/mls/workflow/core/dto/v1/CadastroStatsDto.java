@@ -0,0 +1,32 @@
+package com.mls.workflow.core.dto.v1;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CadastroStatsDto {
+
+    private long total;
+
+    /** Records per age range ("0-9", "10-19", ..., "100+"), in range order. */
+    private Map<String, Long> faixasIdade;
+
+    /** Most frequent e-mail domains, most frequent first. */
+    private List<DominioDto> topDominios;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DominioDto {
+
+        private String dominio;
+
+        private long total;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mls.workflow.core.dto.v1;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResultDto {
+
+    private long accepted;
+    private long rejected;
+
+    /** Rejected rows, capped at {@code cadastro.import.max-reported-rejections}; see {@link #rejectionsTruncated}. */
+    private List<Rejection> rejections = new ArrayList<>();
+    private boolean rejectionsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection {
+        private long line;
+        private String message;
+    }
+}
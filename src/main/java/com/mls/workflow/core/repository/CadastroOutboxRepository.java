@@ -0,0 +1,108 @@
+package com.mls.workflow.core.repository;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroChangeDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * AIC_CADASTRO_OUTBOX: one row per committed change of a cadastro record, numbered by the SEQ identity.
+ * Rows are inserted through the caller's connection, so they commit or roll back with the change itself.
+ */
+@Repository
+@ConditionalOnProperty(name = "cadastro.outbox.enabled", havingValue = "true")
+public class CadastroOutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO AIC_CADASTRO_OUTBOX (OPERACAO, CADASTRO_ID, NOME, EMAIL, IDADE) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CadastroOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private final RowMapper<CadastroChangeDto> rowMapper = (rs, rowNum) -> {
+        long cadastroId = rs.getLong("CADASTRO_ID");
+        String nome = rs.getString("NOME");
+        CadastroDto cadastro = nome == null ? null
+                : new CadastroDto(cadastroId, nome, rs.getString("EMAIL"), rs.getInt("IDADE"));
+        return new CadastroChangeDto(
+                rs.getLong("SEQ"),
+                rs.getString("OPERACAO"),
+                cadastroId,
+                cadastro,
+                rs.getTimestamp("CREATED_AT").toInstant());
+    };
+
+    /**
+     * Appends one event per record; {@code after} entries are the new states, or {@code null} for a delete.
+     */
+    public void appendAll(String operacao, List<Long> ids, List<CadastroDto> after) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CadastroDto cadastro = after.get(i);
+                ps.setString(1, operacao);
+                ps.setLong(2, ids.get(i));
+                if (cadastro == null) {
+                    ps.setNull(3, Types.VARCHAR);
+                    ps.setNull(4, Types.VARCHAR);
+                    ps.setNull(5, Types.INTEGER);
+                } else {
+                    ps.setString(3, cadastro.getNome());
+                    ps.setString(4, cadastro.getEmail());
+                    ps.setInt(5, cadastro.getIdade());
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    /**
+     * Events with {@code SEQ > afterSeq}, in SEQ order: a primary-key range scan, whatever the table size.
+     */
+    public List<CadastroChangeDto> findAfter(long afterSeq, int limit) {
+        String sql = """
+                SELECT SEQ, OPERACAO, CADASTRO_ID, NOME, EMAIL, IDADE, CREATED_AT
+                FROM AIC_CADASTRO_OUTBOX WHERE SEQ > ? ORDER BY SEQ LIMIT ?
+                """;
+        return jdbcTemplate.query(sql, rowMapper, afterSeq, limit);
+    }
+
+    /**
+     * Highest SEQ of the run of oldest events, at most {@code limit} long, that were all created before
+     * {@code createdBefore}; 0 if the oldest event is newer. Reads a primary-key range only, whatever the table size.
+     */
+    public long findPurgeBoundary(Instant createdBefore, int limit) {
+        Timestamp cutoff = Timestamp.from(createdBefore);
+        return jdbcTemplate.query("SELECT SEQ, CREATED_AT FROM AIC_CADASTRO_OUTBOX ORDER BY SEQ LIMIT ?", rs -> {
+            long boundary = 0;
+            while (rs.next() && rs.getTimestamp("CREATED_AT").before(cutoff)) {
+                boundary = rs.getLong("SEQ");
+            }
+            return boundary;
+        }, limit);
+    }
+
+    /**
+     * Deletes every event with {@code SEQ <= seq}.
+     */
+    public int deleteThrough(long seq) {
+        return jdbcTemplate.update("DELETE FROM AIC_CADASTRO_OUTBOX WHERE SEQ <= ?", seq);
+    }
+}
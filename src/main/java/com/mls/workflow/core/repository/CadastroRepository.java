@@ -0,0 +1,107 @@
+package com.mls.workflow.core.repository;
+
+import com.mls.workflow.core.dto.CadastroDto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage of AIC_CADASTRO records behind {@link com.mls.workflow.core.service.CadastroService}.
+ * <p>
+ * The implementation is chosen with {@code cadastro.storage}: {@code jdbc} (default) keeps the records in the
+ * H2 table, {@code memory} keeps them in process memory with a write-ahead log for durability.
+ * Constraint violations are reported as Spring {@link org.springframework.dao.DataAccessException}s by both.
+ * <p>
+ * With {@code cadastro.delete.mode=soft}, deletes only mark the record with a tombstone; every read and write ignores
+ * tombstoned records, and {@link #purgeDeleted} removes them later in small chunks.
+ */
+public interface CadastroRepository {
+
+    /**
+     * Inserts the record and sets its generated ID on the given instance.
+     */
+    CadastroDto insert(CadastroDto cadastro);
+
+    /**
+     * Inserts all records, setting the generated IDs on the given instances, in the same order.
+     */
+    void insertAll(List<CadastroDto> cadastros);
+
+    Optional<CadastroDto> findById(long id);
+
+    /**
+     * Finds the live records among {@code ids}, in no particular order; missing IDs are left out.
+     */
+    default List<CadastroDto> findAllById(List<Long> ids) {
+        List<CadastroDto> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * Finds the oldest record whose e-mail matches ignoring case and surrounding blanks.
+     */
+    Optional<CadastroDto> findByEmail(String email);
+
+    /**
+     * Returns up to {@code limit} records with an ID greater than {@code afterId}, in ID order.
+     */
+    List<CadastroDto> findPage(long afterId, int limit);
+
+    /**
+     * Passes every record, in ID order, to the consumer without materializing the whole set.
+     */
+    void forEachOrdered(Consumer<CadastroDto> consumer);
+
+    /**
+     * Number of live (not deleted) records.
+     */
+    long count();
+
+    /**
+     * Overwrites every column of the record; false when the ID does not exist.
+     */
+    boolean update(long id, CadastroDto cadastro);
+
+    /**
+     * Updates every record by its ID and returns, per record, the number of affected rows (0 or 1).
+     */
+    int[] updateAll(List<CadastroDto> cadastros);
+
+    /**
+     * Changes only the non-null fields and returns the resulting record; empty when the ID does not exist.
+     */
+    Optional<CadastroDto> patch(long id, String nome, String email, Integer idade);
+
+    /**
+     * Overwrites the record with the same normalized e-mail, or inserts a new one, and returns the stored record.
+     */
+    CadastroDto upsertByEmail(CadastroDto cadastro);
+
+    boolean deleteById(long id);
+
+    /**
+     * Deletes every ID and returns, per ID, the number of affected rows (0 or 1).
+     */
+    int[] deleteAll(List<Long> ids);
+
+    /**
+     * Physically removes up to {@code limit} records tombstoned before {@code deletedBefore} and returns how many
+     * were removed. Storages without soft delete have nothing to purge.
+     */
+    default int purgeDeleted(Instant deletedBefore, int limit) {
+        return 0;
+    }
+
+    /**
+     * Number of tombstoned records waiting to be purged.
+     */
+    default long countDeleted() {
+        return 0;
+    }
+}
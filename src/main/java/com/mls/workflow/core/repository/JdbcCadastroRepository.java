@@ -0,0 +1,269 @@
+package com.mls.workflow.core.repository;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+@ConditionalOnProperty(name = "cadastro.storage", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcCadastroRepository implements CadastroRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO AIC_CADASTRO (NOME, EMAIL, IDADE) VALUES (?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE AIC_CADASTRO SET NOME = ?, EMAIL = ?, IDADE = ? WHERE ID = ? AND DELETED_AT IS NULL";
+    private static final String DELETE_SQL = "DELETE FROM AIC_CADASTRO WHERE ID = ?";
+    private static final String SOFT_DELETE_SQL = "UPDATE AIC_CADASTRO SET DELETED_AT = CURRENT_TIMESTAMP WHERE ID = ? AND DELETED_AT IS NULL";
+    // Name the key column explicitly so the generated EMAIL_NORM column is never returned as a key.
+    private static final String[] GENERATED_KEY_COLUMNS = {"ID"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int exportFetchSize;
+    private final boolean softDelete;
+
+    public JdbcCadastroRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${cadastro.export.fetch-size:1000}") int exportFetchSize,
+                                  @Value("${cadastro.delete.mode:hard}") String deleteMode) {
+        if (!"hard".equalsIgnoreCase(deleteMode) && !"soft".equalsIgnoreCase(deleteMode)) {
+            throw new IllegalArgumentException("cadastro.delete.mode must be 'hard' or 'soft', got " + deleteMode);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportFetchSize = exportFetchSize;
+        this.softDelete = "soft".equalsIgnoreCase(deleteMode);
+    }
+
+    private final RowMapper<CadastroDto> rowMapper = new RowMapper<CadastroDto>() {
+        @Override
+        public CadastroDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CadastroDto(
+                    rs.getLong("ID"),
+                    rs.getString("NOME"),
+                    rs.getString("EMAIL"),
+                    rs.getInt("IDADE")
+            );
+        }
+    };
+
+    @Override
+    public CadastroDto insert(CadastroDto cadastro) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, GENERATED_KEY_COLUMNS);
+            ps.setString(1, cadastro.getNome());
+            ps.setString(2, cadastro.getEmail());
+            ps.setInt(3, cadastro.getIdade());
+            return ps;
+        }, keyHolder);
+
+        if (keyHolder.getKey() != null) {
+            cadastro.setId(keyHolder.getKey().longValue());
+        }
+        return cadastro;
+    }
+
+    @Override
+    public void insertAll(List<CadastroDto> cadastros) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, GENERATED_KEY_COLUMNS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CadastroDto cadastro = cadastros.get(i);
+                        ps.setString(1, cadastro.getNome());
+                        ps.setString(2, cadastro.getEmail());
+                        ps.setInt(3, cadastro.getIdade());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return cadastros.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() == cadastros.size()) {
+            for (int i = 0; i < cadastros.size(); i++) {
+                Object key = keys.get(i).values().iterator().next();
+                cadastros.get(i).setId(((Number) key).longValue());
+            }
+        }
+    }
+
+    @Override
+    public Optional<CadastroDto> findById(long id) {
+        String sql = "SELECT ID, NOME, EMAIL, IDADE FROM AIC_CADASTRO WHERE ID = ? AND DELETED_AT IS NULL";
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(sql, rowMapper, id));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<CadastroDto> findAllById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT ID, NOME, EMAIL, IDADE FROM AIC_CADASTRO WHERE ID IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") AND DELETED_AT IS NULL";
+        return jdbcTemplate.query(sql, rowMapper, ids.toArray());
+    }
+
+    @Override
+    public Optional<CadastroDto> findByEmail(String email) {
+        String sql = "SELECT ID, NOME, EMAIL, IDADE FROM AIC_CADASTRO WHERE EMAIL_NORM = LOWER(TRIM(?)) AND DELETED_AT IS NULL ORDER BY ID LIMIT 1";
+        return jdbcTemplate.query(sql, rowMapper, email).stream().findFirst();
+    }
+
+    @Override
+    public List<CadastroDto> findPage(long afterId, int limit) {
+        String sql = "SELECT ID, NOME, EMAIL, IDADE FROM AIC_CADASTRO WHERE ID > ? AND DELETED_AT IS NULL ORDER BY ID LIMIT ?";
+        return jdbcTemplate.query(sql, rowMapper, afterId, limit);
+    }
+
+    @Override
+    public void forEachOrdered(Consumer<CadastroDto> consumer) {
+        String sql = "SELECT ID, NOME, EMAIL, IDADE FROM AIC_CADASTRO WHERE DELETED_AT IS NULL ORDER BY ID";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportFetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM AIC_CADASTRO WHERE DELETED_AT IS NULL", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public boolean update(long id, CadastroDto cadastro) {
+        return jdbcTemplate.update(UPDATE_SQL, cadastro.getNome(), cadastro.getEmail(), cadastro.getIdade(), id) > 0;
+    }
+
+    @Override
+    public int[] updateAll(List<CadastroDto> cadastros) {
+        return jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CadastroDto cadastro = cadastros.get(i);
+                ps.setString(1, cadastro.getNome());
+                ps.setString(2, cadastro.getEmail());
+                ps.setInt(3, cadastro.getIdade());
+                ps.setObject(4, cadastro.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cadastros.size();
+            }
+        });
+    }
+
+    /**
+     * Single UPDATE with COALESCE per column; the resulting row is read back in the same statement through
+     * H2's FINAL TABLE.
+     */
+    @Override
+    public Optional<CadastroDto> patch(long id, String nome, String email, Integer idade) {
+        String sql = """
+                SELECT ID, NOME, EMAIL, IDADE FROM FINAL TABLE (
+                    UPDATE AIC_CADASTRO
+                    SET NOME = COALESCE(?, NOME), EMAIL = COALESCE(?, EMAIL), IDADE = COALESCE(?, IDADE)
+                    WHERE ID = ? AND DELETED_AT IS NULL
+                )
+                """;
+        return jdbcTemplate.query(sql, rowMapper, nome, email, idade, id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Single MERGE, read back through FINAL TABLE. It matches at most one row, the oldest live record with the
+     * same EMAIL_NORM, so duplicates left without {@code cadastro.email.unique} are never overwritten together.
+     * With the unique index, two concurrent upserts of a new e-mail can both take the insert branch; the loser
+     * fails with a duplicate key once the winner commits and is retried, which then matches the winner's row.
+     * Without the index both inserts succeed.
+     */
+    @Override
+    public CadastroDto upsertByEmail(CadastroDto cadastro) {
+        try {
+            return mergeByEmail(cadastro);
+        } catch (DuplicateKeyException e) {
+            // Only the failed statement is rolled back; the retry sees the committed row and updates it.
+            return mergeByEmail(cadastro);
+        }
+    }
+
+    private CadastroDto mergeByEmail(CadastroDto cadastro) {
+        String sql = """
+                SELECT ID, NOME, EMAIL, IDADE FROM FINAL TABLE (
+                    MERGE INTO AIC_CADASTRO T
+                    USING (SELECT CAST(? AS VARCHAR(255)) NOME, CAST(? AS VARCHAR(255)) EMAIL, CAST(? AS INT) IDADE,
+                               (SELECT MIN(ID) FROM AIC_CADASTRO
+                                WHERE EMAIL_NORM = LOWER(TRIM(CAST(? AS VARCHAR(255)))) AND DELETED_AT IS NULL) MATCH_ID) S
+                    ON T.ID = S.MATCH_ID
+                    WHEN MATCHED THEN UPDATE SET NOME = S.NOME, EMAIL = S.EMAIL, IDADE = S.IDADE
+                    WHEN NOT MATCHED THEN INSERT (NOME, EMAIL, IDADE) VALUES (S.NOME, S.EMAIL, S.IDADE)
+                )
+                """;
+        return jdbcTemplate.query(sql, rowMapper, cadastro.getNome(), cadastro.getEmail(), cadastro.getIdade(), cadastro.getEmail())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("MERGE did not return the upserted row for " + cadastro.getEmail()));
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        return jdbcTemplate.update(softDelete ? SOFT_DELETE_SQL : DELETE_SQL, id) > 0;
+    }
+
+    @Override
+    public int[] deleteAll(List<Long> ids) {
+        return jdbcTemplate.batchUpdate(softDelete ? SOFT_DELETE_SQL : DELETE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int limit) {
+        String sql = "DELETE FROM AIC_CADASTRO WHERE DELETED_AT < ? FETCH FIRST ? ROWS ONLY";
+        return jdbcTemplate.update(sql, Timestamp.from(deletedBefore), limit);
+    }
+
+    @Override
+    public long countDeleted() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM AIC_CADASTRO WHERE DELETED_AT IS NOT NULL", Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mls.workflow.core.repository;
+
+import org.springframework.dao.DataAccessException;
+
+import java.util.List;
+
+/**
+ * A multi-record write that ran in several independent transactions (one per shard) and failed in some of them only.
+ * The records at {@link #getFailedPositions()} were rolled back; every other record is committed, with
+ * {@link #getAffectedRows()} holding its result, and must not be written again.
+ */
+public class PartialWriteException extends DataAccessException {
+
+    private final int[] affectedRows;
+    private final List<Integer> failedPositions;
+
+    public PartialWriteException(int[] affectedRows, List<Integer> failedPositions, Throwable cause) {
+        super(failedPositions.size() + " of " + affectedRows.length + " records were not written: " + cause.getMessage(), cause);
+        this.affectedRows = affectedRows;
+        this.failedPositions = List.copyOf(failedPositions);
+    }
+
+    /**
+     * Per input position, the number of affected rows of the committed records (0 or 1); 0 at failed positions.
+     */
+    public int[] getAffectedRows() {
+        return affectedRows;
+    }
+
+    /**
+     * Input positions of the records that were rolled back, in ascending order.
+     */
+    public List<Integer> getFailedPositions() {
+        return failedPositions;
+    }
+}
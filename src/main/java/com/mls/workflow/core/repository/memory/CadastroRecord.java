@@ -0,0 +1,58 @@
+package com.mls.workflow.core.repository.memory;
+
+import com.mls.workflow.core.dto.CadastroDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Immutable stored form of a record: the strings are kept as UTF-8 bytes, which for the usual ASCII-heavy
+ * names and e-mails is as compact as a Latin-1 String's content, without the String and coder overhead.
+ */
+final class CadastroRecord {
+
+    final long id;
+    final byte[] nome;
+    final byte[] email;
+    final int idade;
+
+    CadastroRecord(long id, byte[] nome, byte[] email, int idade) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.idade = idade;
+    }
+
+    static CadastroRecord of(long id, CadastroDto cadastro) {
+        return new CadastroRecord(id, encode(cadastro.getNome()), encode(cadastro.getEmail()), cadastro.getIdade());
+    }
+
+    /**
+     * Copy with the non-null arguments applied.
+     */
+    CadastroRecord with(String newNome, String newEmail, Integer newIdade) {
+        return new CadastroRecord(id,
+                newNome != null ? encode(newNome) : nome,
+                newEmail != null ? encode(newEmail) : email,
+                newIdade != null ? newIdade : idade);
+    }
+
+    String emailNorm() {
+        return normalizeEmail(new String(email, StandardCharsets.UTF_8));
+    }
+
+    CadastroDto toDto() {
+        return new CadastroDto(id, new String(nome, StandardCharsets.UTF_8), new String(email, StandardCharsets.UTF_8), idade);
+    }
+
+    /**
+     * Same normalization as the EMAIL_NORM column of the JDBC storage: LOWER(TRIM(EMAIL)).
+     */
+    static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,306 @@
+package com.mls.workflow.core.repository.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durability for {@link InMemoryCadastroRepository}: an append-only log of record images plus periodic snapshots.
+ * <p>
+ * Log entry: {@code int length | payload | int crc32(payload)}, where the payload is {@code PUT id idade nome email}
+ * or {@code DELETE id}. Entries carry the full new state of a record, so replaying one twice is harmless; that makes
+ * a crash between writing a snapshot and truncating the log safe. A torn or corrupt tail, left by a crash in the
+ * middle of an append, is cut off at recovery.
+ * <p>
+ * Snapshot: {@code magic | version | nextId | count | records... | crc32}, written to a temporary file,
+ * synced and atomically renamed over the previous one.
+ */
+final class CadastroWal implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroWal.class);
+
+    static final String LOG_FILE = "cadastro.wal";
+    static final String SNAPSHOT_FILE = "cadastro.snapshot";
+
+    private static final int SNAPSHOT_MAGIC = 0x43414453; // "CADS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int MAX_ENTRY_LENGTH = 1 << 20;
+
+    interface Visitor {
+        void put(CadastroRecord record);
+
+        void delete(long id);
+    }
+
+    private final Path directory;
+    private final Path logFile;
+    private final Path snapshotFile;
+    private final boolean fsync;
+    private final CRC32 crc = new CRC32();
+
+    private ByteBuffer entry = ByteBuffer.allocate(512);
+    private FileOutputStream logOutput;
+    private DataOutputStream logWriter;
+    private int entriesSinceSnapshot;
+    private boolean broken;
+
+    CadastroWal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.logFile = directory.resolve(LOG_FILE);
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.fsync = fsync;
+    }
+
+    /**
+     * Feeds the snapshot and then the log to the visitor, cuts off a damaged log tail and opens the log
+     * for appending. Returns the next ID recorded in the snapshot (1 without a snapshot).
+     */
+    long recover(Visitor visitor) {
+        try {
+            Files.createDirectories(directory);
+            long nextId = Files.exists(snapshotFile) ? readSnapshot(visitor) : 1L;
+            long validLength = Files.exists(logFile) ? replayLog(visitor) : 0L;
+
+            if (Files.exists(logFile) && Files.size(logFile) > validLength) {
+                LOG.warn("Truncating damaged tail of {} at byte {} (file has {} bytes)", logFile, validLength, Files.size(logFile));
+                try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                    channel.force(true);
+                }
+            }
+            openLog(true);
+            return nextId;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover cadastro store from " + directory, e);
+        }
+    }
+
+    /**
+     * Buffers the new image of record {@code id}; {@code null} means the record was deleted.
+     * Nothing is durable before {@link #commit()}.
+     */
+    void append(long id, CadastroRecord after) {
+        ensureWritable();
+        entry.clear();
+        if (after == null) {
+            ensureEntryCapacity(9);
+            entry.put(OP_DELETE).putLong(id);
+        } else {
+            ensureEntryCapacity(1 + 8 + 4 + 4 + after.nome.length + 4 + after.email.length);
+            entry.put(OP_PUT).putLong(id).putInt(after.idade)
+                    .putInt(after.nome.length).put(after.nome)
+                    .putInt(after.email.length).put(after.email);
+        }
+
+        crc.reset();
+        crc.update(entry.array(), 0, entry.position());
+        try {
+            logWriter.writeInt(entry.position());
+            logWriter.write(entry.array(), 0, entry.position());
+            logWriter.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            throw fail(e);
+        }
+        entriesSinceSnapshot++;
+    }
+
+    /**
+     * Hands the buffered entries to the OS, which survives a process crash, and with fsync also forces them
+     * to the disk, which survives a power loss.
+     */
+    void commit() {
+        ensureWritable();
+        try {
+            logWriter.flush();
+            if (fsync) {
+                logOutput.getChannel().force(false);
+            }
+        } catch (IOException e) {
+            throw fail(e);
+        }
+    }
+
+    int entriesSinceSnapshot() {
+        return entriesSinceSnapshot;
+    }
+
+    /**
+     * Writes a snapshot of {@code records} and starts a new, empty log.
+     */
+    void snapshot(long nextId, int count, Iterable<CadastroRecord> records) {
+        ensureWritable();
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try {
+            try (FileOutputStream fileOutput = new FileOutputStream(temporary.toFile())) {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOutput, 1 << 16), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(nextId);
+                out.writeInt(count);
+                for (CadastroRecord record : records) {
+                    out.writeLong(record.id);
+                    out.writeInt(record.idade);
+                    out.writeInt(record.nome.length);
+                    out.write(record.nome);
+                    out.writeInt(record.email.length);
+                    out.write(record.email);
+                }
+                out.writeInt((int) checked.getChecksum().getValue());
+                out.flush();
+                fileOutput.getFD().sync();
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            logWriter.close();
+            openLog(false);
+            entriesSinceSnapshot = 0;
+            LOG.info("Cadastro snapshot written with {} records", count);
+        } catch (IOException e) {
+            throw fail(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (logWriter != null) {
+            try {
+                logWriter.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing {}", logFile, e);
+            }
+        }
+    }
+
+    private long readSnapshot(Visitor visitor) throws IOException {
+        try (InputStream fileInput = Files.newInputStream(snapshotFile)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(fileInput, 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unrecognized snapshot format in " + snapshotFile);
+            }
+            long nextId = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                int idade = in.readInt();
+                byte[] nome = readBytes(in);
+                byte[] email = readBytes(in);
+                visitor.put(new CadastroRecord(id, nome, email, idade));
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                // A snapshot only replaces the previous one once complete, so a bad checksum is real corruption.
+                throw new IOException("Checksum mismatch in " + snapshotFile);
+            }
+            return nextId;
+        }
+    }
+
+    private long replayLog(Visitor visitor) throws IOException {
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile), 1 << 16))) {
+            byte[] payload = new byte[512];
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < 9 || length > MAX_ENTRY_LENGTH) {
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[length];
+                }
+                int storedCrc;
+                try {
+                    in.readFully(payload, 0, length);
+                    storedCrc = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, length);
+                if (storedCrc != (int) crc.getValue()) {
+                    break;
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap(payload, 0, length);
+                byte op = buffer.get();
+                long id = buffer.getLong();
+                if (op == OP_PUT) {
+                    int idade = buffer.getInt();
+                    byte[] nome = new byte[buffer.getInt()];
+                    buffer.get(nome);
+                    byte[] email = new byte[buffer.getInt()];
+                    buffer.get(email);
+                    visitor.put(new CadastroRecord(id, nome, email, idade));
+                } else if (op == OP_DELETE) {
+                    visitor.delete(id);
+                } else {
+                    break;
+                }
+                validLength += 4L + length + 4L;
+                entriesSinceSnapshot++;
+            }
+        }
+        return validLength;
+    }
+
+    private void openLog(boolean append) throws IOException {
+        logOutput = new FileOutputStream(logFile.toFile(), append);
+        logWriter = new DataOutputStream(new BufferedOutputStream(logOutput, 1 << 16));
+    }
+
+    private void ensureEntryCapacity(int length) {
+        if (entry.capacity() < length) {
+            entry = ByteBuffer.allocate(Math.max(length, entry.capacity() * 2));
+        }
+    }
+
+    private void ensureWritable() {
+        if (broken) {
+            throw new IllegalStateException("Cadastro write-ahead log failed earlier; restart to recover");
+        }
+    }
+
+    // After a failed write the log may end in a partial entry; appending behind it would hide later entries
+    // from recovery, so the log refuses further writes instead.
+    private UncheckedIOException fail(IOException e) {
+        broken = true;
+        return new UncheckedIOException("Could not write cadastro write-ahead log " + logFile, e);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_ENTRY_LENGTH) {
+            throw new IOException("Invalid field length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
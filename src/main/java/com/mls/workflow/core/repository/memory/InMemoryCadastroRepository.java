@@ -0,0 +1,495 @@
+package com.mls.workflow.core.repository.memory;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.repository.CadastroRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps every record in memory, for data sets that fit in RAM and need microsecond reads and writes.
+ * <p>
+ * Records live in a {@link LongObjectHashMap} keyed by the primitive ID, with a sorted ID array for ordered scans
+ * and a map from normalized e-mail to IDs. Each write is applied in memory, appended to the {@link CadastroWal} and
+ * committed before the call returns; if the log cannot be written, the in-memory change is rolled back.
+ * Multi-record writes (the batch chunks) are all-or-nothing, like a JDBC transaction.
+ * Every {@code cadastro.memory.snapshot-every} log entries a snapshot replaces the log. At startup the snapshot
+ * and the log are replayed.
+ * <p>
+ * A write made inside a Spring transaction (the service's {@code @Transactional} methods, the batch chunks, the
+ * engine's commands) is bound to it: if that transaction rolls back, the write is undone by compensating log
+ * entries, so a replayed batch chunk or process start does not apply it twice. There is no isolation, though:
+ * other threads see the write before the transaction ends, and a record another write has replaced since is left
+ * as it is.
+ */
+@Repository
+@ConditionalOnProperty(name = "cadastro.storage", havingValue = "memory")
+public class InMemoryCadastroRepository implements CadastroRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryCadastroRepository.class);
+
+    private static final int EXPORT_PAGE_SIZE = 1000;
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<CadastroRecord> records = new LongObjectHashMap<>(1024);
+    private final Map<String, long[]> idsByEmail = new HashMap<>();
+    private final CadastroWal wal;
+    private final int snapshotEvery;
+    private final boolean uniqueEmail;
+
+    // Ascending IDs; deleted IDs stay in place (skipped on read) until compaction.
+    private long[] order = new long[1024];
+    private int orderSize;
+    private int orderDeleted;
+    private long nextId = 1;
+
+    public InMemoryCadastroRepository(@Value("${cadastro.memory.directory:./cadastro-store}") Path directory,
+                                      @Value("${cadastro.memory.fsync:false}") boolean fsync,
+                                      @Value("${cadastro.memory.snapshot-every:100000}") int snapshotEvery,
+                                      @Value("${cadastro.email.unique:false}") boolean uniqueEmail) {
+        this.wal = new CadastroWal(directory, fsync);
+        this.snapshotEvery = snapshotEvery;
+        this.uniqueEmail = uniqueEmail;
+
+        long snapshotNextId = wal.recover(new CadastroWal.Visitor() {
+            @Override
+            public void put(CadastroRecord record) {
+                putRecord(record);
+            }
+
+            @Override
+            public void delete(long id) {
+                removeRecord(id);
+            }
+        });
+        nextId = Math.max(nextId, snapshotNextId);
+        LOG.info("In-memory cadastro store loaded from {}: {} records, {} log entries replayed",
+                directory, records.size(), wal.entriesSinceSnapshot());
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (wal.entriesSinceSnapshot() > 0) {
+                writeSnapshot();
+            }
+        } finally {
+            wal.close();
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CadastroDto insert(CadastroDto cadastro) {
+        long id = write(changes -> {
+            long newId = nextId++;
+            apply(changes, newId, CadastroRecord.of(newId, cadastro));
+            return newId;
+        });
+        cadastro.setId(id);
+        return cadastro;
+    }
+
+    @Override
+    public void insertAll(List<CadastroDto> cadastros) {
+        long[] ids = write(changes -> {
+            long[] newIds = new long[cadastros.size()];
+            for (int i = 0; i < newIds.length; i++) {
+                newIds[i] = nextId++;
+                apply(changes, newIds[i], CadastroRecord.of(newIds[i], cadastros.get(i)));
+            }
+            return newIds;
+        });
+        for (int i = 0; i < ids.length; i++) {
+            cadastros.get(i).setId(ids[i]);
+        }
+    }
+
+    @Override
+    public Optional<CadastroDto> findById(long id) {
+        lock.readLock().lock();
+        try {
+            CadastroRecord record = lookup(id);
+            return record == null ? Optional.empty() : Optional.of(record.toDto());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<CadastroDto> findByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            long[] ids = idsByEmail.get(CadastroRecord.normalizeEmail(email));
+            return ids == null ? Optional.empty() : Optional.of(records.get(ids[0]).toDto());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CadastroDto> findPage(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<CadastroDto> page = new ArrayList<>(Math.min(limit, records.size()));
+            int index = Arrays.binarySearch(order, 0, orderSize, afterId);
+            index = index >= 0 ? index + 1 : -index - 1;
+            for (; index < orderSize && page.size() < limit; index++) {
+                CadastroRecord record = records.get(order[index]);
+                if (record != null) {
+                    page.add(record.toDto());
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the records page by page, so the read lock is never held while the consumer runs
+     * (for an export that is the speed of the client).
+     */
+    @Override
+    public void forEachOrdered(Consumer<CadastroDto> consumer) {
+        long afterId = Long.MIN_VALUE;
+        List<CadastroDto> page;
+        do {
+            page = findPage(afterId, EXPORT_PAGE_SIZE);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return records.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(long id, CadastroDto cadastro) {
+        return write(changes -> lookup(id) != null && apply(changes, id, CadastroRecord.of(id, cadastro)) != null);
+    }
+
+    @Override
+    public int[] updateAll(List<CadastroDto> cadastros) {
+        return write(changes -> {
+            int[] affected = new int[cadastros.size()];
+            for (int i = 0; i < affected.length; i++) {
+                Long id = cadastros.get(i).getId();
+                if (id != null && lookup(id) != null) {
+                    apply(changes, id, CadastroRecord.of(id, cadastros.get(i)));
+                    affected[i] = 1;
+                }
+            }
+            return affected;
+        });
+    }
+
+    @Override
+    public Optional<CadastroDto> patch(long id, String nome, String email, Integer idade) {
+        return write(changes -> {
+            CadastroRecord current = lookup(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            CadastroRecord patched = current.with(nome, email, idade);
+            apply(changes, id, patched);
+            return Optional.of(patched.toDto());
+        });
+    }
+
+    /**
+     * Like the JDBC MERGE, overwrites only the oldest record with the same normalized e-mail.
+     */
+    @Override
+    public CadastroDto upsertByEmail(CadastroDto cadastro) {
+        return write(changes -> {
+            long[] ids = idsByEmail.get(CadastroRecord.normalizeEmail(cadastro.getEmail()));
+            long id = ids == null ? nextId++ : ids[0];
+            apply(changes, id, CadastroRecord.of(id, cadastro));
+            return records.get(id).toDto();
+        });
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        return write(changes -> apply(changes, id, null) != null);
+    }
+
+    @Override
+    public int[] deleteAll(List<Long> ids) {
+        return write(changes -> {
+            int[] affected = new int[ids.size()];
+            for (int i = 0; i < affected.length; i++) {
+                Long id = ids.get(i);
+                affected[i] = id != null && apply(changes, id, null) != null ? 1 : 0;
+            }
+            return affected;
+        });
+    }
+
+    /**
+     * Like {@link #writeLogged}, and undoes the changes if the surrounding Spring transaction, if any, rolls back.
+     */
+    private <T> T write(Function<List<Change>, T> operation) {
+        List<Change> changes = new ArrayList<>();
+        T result = writeLogged(changes, operation);
+        if (!changes.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        undo(changes);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Restores the records a rolled back transaction changed, newest change first, unless another write has
+     * replaced them since.
+     */
+    private void undo(List<Change> applied) {
+        try {
+            writeLogged(new ArrayList<>(), changes -> {
+                for (int i = applied.size() - 1; i >= 0; i--) {
+                    Change change = applied.get(i);
+                    if (lookup(change.id) == change.after) {
+                        apply(changes, change.id, change.before);
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOG.error("Could not undo {} in-memory changes of a rolled back transaction", applied.size(), e);
+        }
+    }
+
+    /**
+     * Runs {@code operation} under the write lock, then logs and commits the changes it made. If the operation
+     * or the log fails, the in-memory changes are undone and the exception propagates.
+     */
+    private <T> T writeLogged(List<Change> changes, Function<List<Change>, T> operation) {
+        lock.writeLock().lock();
+        try {
+            T result;
+            try {
+                result = operation.apply(changes);
+                for (Change change : changes) {
+                    wal.append(change.id, change.after);
+                }
+                wal.commit();
+            } catch (RuntimeException e) {
+                rollback(changes);
+                throw e;
+            }
+            if (wal.entriesSinceSnapshot() >= snapshotEvery) {
+                try {
+                    writeSnapshot();
+                } catch (RuntimeException e) {
+                    // The write itself is committed; the log now refuses further writes until a restart.
+                    LOG.error("Could not write cadastro snapshot", e);
+                }
+            }
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces (or, with a null {@code after}, deletes) record {@code id} and records the change.
+     * Returns the previous record, or null if there was none.
+     */
+    private CadastroRecord apply(List<Change> changes, long id, CadastroRecord after) {
+        CadastroRecord before = lookup(id);
+        if (before == null && (after == null || id == 0)) {
+            return null;
+        }
+        if (after == null) {
+            removeRecord(id);
+        } else {
+            checkUniqueEmail(after);
+            putRecord(after);
+        }
+        changes.add(new Change(id, before, after));
+        return before;
+    }
+
+    // Key 0 is the map's empty marker and never a generated ID.
+    private CadastroRecord lookup(long id) {
+        return id == 0 ? null : records.get(id);
+    }
+
+    private void rollback(List<Change> changes) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            Change change = changes.get(i);
+            if (change.before == null) {
+                removeRecord(change.id);
+            } else {
+                putRecord(change.before);
+            }
+        }
+    }
+
+    private void checkUniqueEmail(CadastroRecord record) {
+        if (!uniqueEmail) {
+            return;
+        }
+        long[] ids = idsByEmail.get(record.emailNorm());
+        if (ids != null && (ids.length > 1 || ids[0] != record.id)) {
+            throw new DuplicateKeyException("E-mail já cadastrado: " + record.toDto().getEmail());
+        }
+    }
+
+    private void putRecord(CadastroRecord record) {
+        CadastroRecord previous = records.put(record.id, record);
+        if (previous != null) {
+            unindexEmail(previous);
+        } else {
+            addToOrder(record.id);
+        }
+        indexEmail(record);
+        nextId = Math.max(nextId, record.id + 1);
+    }
+
+    private void removeRecord(long id) {
+        CadastroRecord previous = records.remove(id);
+        if (previous == null) {
+            return;
+        }
+        unindexEmail(previous);
+        orderDeleted++;
+        if (orderDeleted > MIN_COMPACTION_SIZE && orderDeleted > orderSize / 2) {
+            compactOrder();
+        }
+    }
+
+    private void addToOrder(long id) {
+        if (orderSize == 0 || order[orderSize - 1] < id) {
+            if (orderSize == order.length) {
+                order = Arrays.copyOf(order, orderSize * 2);
+            }
+            order[orderSize++] = id;
+            return;
+        }
+        // Only a rollback or a replayed log brings back an older ID; it is usually still there as a deleted slot.
+        int index = Arrays.binarySearch(order, 0, orderSize, id);
+        if (index >= 0) {
+            orderDeleted--;
+            return;
+        }
+        index = -index - 1;
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, orderSize * 2);
+        }
+        System.arraycopy(order, index, order, index + 1, orderSize - index);
+        order[index] = id;
+        orderSize++;
+    }
+
+    private void compactOrder() {
+        int live = 0;
+        for (int i = 0; i < orderSize; i++) {
+            if (records.containsKey(order[i])) {
+                order[live++] = order[i];
+            }
+        }
+        orderSize = live;
+        orderDeleted = 0;
+    }
+
+    private void indexEmail(CadastroRecord record) {
+        idsByEmail.merge(record.emailNorm(), new long[]{record.id}, (ids, added) -> {
+            long id = added[0];
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0) {
+                return ids;
+            }
+            index = -index - 1;
+            long[] grown = new long[ids.length + 1];
+            System.arraycopy(ids, 0, grown, 0, index);
+            grown[index] = id;
+            System.arraycopy(ids, index, grown, index + 1, ids.length - index);
+            return grown;
+        });
+    }
+
+    private void unindexEmail(CadastroRecord record) {
+        idsByEmail.computeIfPresent(record.emailNorm(), (email, ids) -> {
+            int index = Arrays.binarySearch(ids, record.id);
+            if (index < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] shrunk = new long[ids.length - 1];
+            System.arraycopy(ids, 0, shrunk, 0, index);
+            System.arraycopy(ids, index + 1, shrunk, index, ids.length - index - 1);
+            return shrunk;
+        });
+    }
+
+    private void writeSnapshot() {
+        wal.snapshot(nextId, records.size(), () -> new Iterator<>() {
+            private int index = nextLive(0);
+
+            @Override
+            public boolean hasNext() {
+                return index < orderSize;
+            }
+
+            @Override
+            public CadastroRecord next() {
+                if (index >= orderSize) {
+                    throw new NoSuchElementException();
+                }
+                CadastroRecord record = records.get(order[index]);
+                index = nextLive(index + 1);
+                return record;
+            }
+
+            private int nextLive(int from) {
+                while (from < orderSize && !records.containsKey(order[from])) {
+                    from++;
+                }
+                return from;
+            }
+        });
+    }
+
+    private record Change(long id, CadastroRecord before, CadastroRecord after) {
+    }
+}
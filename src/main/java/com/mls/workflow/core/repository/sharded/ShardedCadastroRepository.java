@@ -0,0 +1,488 @@
+package com.mls.workflow.core.repository.sharded;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.repository.CadastroRepository;
+import com.mls.workflow.core.repository.JdbcCadastroRepository;
+import com.mls.workflow.core.repository.PartialWriteException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Spreads the records over {@code cadastro.sharding.count} H2 databases, each with its own file, pool and write
+ * lock, so writes to different shards do not serialize on one another.
+ * <p>
+ * The shard is encoded in the low {@link #SHARD_BITS} bits of the public ID ({@code localId << 8 | shard}), so
+ * every operation by ID goes straight to one shard with no lookup. New records are placed by the hash of their
+ * normalized e-mail, which sends concurrent upserts of the same new e-mail to the same shard, where the MERGE
+ * serializes them. Lists, counts and e-mail lookups fan out to every shard in parallel on virtual threads and are
+ * merged in ID order; multi-record writes are grouped per shard and each group runs in its own shard transaction.
+ * When only some groups fail, the others stay committed and a {@link PartialWriteException} tells the caller which
+ * positions were rolled back.
+ * <p>
+ * Each shard is a plain {@link JdbcCadastroRepository}, so the SQL, soft delete and purge behave as in
+ * {@code cadastro.storage=jdbc}. A record keeps its shard, and so its ID, when its e-mail changes, so with
+ * {@code cadastro.email.unique} each shard's unique index only covers part of the e-mails: every write of an e-mail
+ * also looks for it on the other shards, under a lock of the shard the e-mail hashes to (see {@link #withUniqueEmails}).
+ * <p>
+ * The shards have their own connection pools and transaction managers, so their writes commit on their own: they do
+ * not join the caller's Spring transaction, the change-feed outbox row written in it or the process engine's
+ * transaction, and a rollback of any of those does not undo them.
+ */
+@Repository
+@ConditionalOnProperty(name = "cadastro.storage", havingValue = "sharded")
+public class ShardedCadastroRepository implements CadastroRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedCadastroRepository.class);
+
+    static final int SHARD_BITS = 8;
+    static final int MAX_SHARDS = 1 << SHARD_BITS;
+    private static final long SHARD_MASK = MAX_SHARDS - 1;
+
+    private final List<Shard> shards;
+    private final int exportPageSize;
+    private final boolean uniqueEmail;
+    /** One lock per shard, taken for the e-mails that hash to it while they are checked and written. */
+    private final ReentrantLock[] emailLocks;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedCadastroRepository(@Value("${cadastro.sharding.count:4}") int shardCount,
+                                     @Value("${cadastro.sharding.url:jdbc:h2:file:./cadastro-shard-{shard}}") String urlTemplate,
+                                     @Value("${cadastro.sharding.username:sa}") String username,
+                                     @Value("${cadastro.sharding.password:sa}") String password,
+                                     @Value("${cadastro.sharding.pool-size:8}") int poolSize,
+                                     @Value("${cadastro.export.fetch-size:1000}") int exportPageSize,
+                                     @Value("${cadastro.delete.mode:hard}") String deleteMode,
+                                     @Value("${cadastro.email.unique:false}") boolean uniqueEmail) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("cadastro.sharding.count must be between 1 and " + MAX_SHARDS + ", got " + shardCount);
+        }
+        this.exportPageSize = exportPageSize;
+        this.uniqueEmail = uniqueEmail;
+        this.emailLocks = new ReentrantLock[shardCount];
+        Arrays.setAll(emailLocks, index -> new ReentrantLock());
+        this.shards = new ArrayList<>(shardCount);
+        try {
+            for (int index = 0; index < shardCount; index++) {
+                shards.add(new Shard(index, urlTemplate.replace("{shard}", Integer.toString(index)),
+                        username, password, poolSize, exportPageSize, deleteMode, uniqueEmail));
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        LOG.info("Sharded cadastro storage ready on {} databases", shardCount);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        for (Shard shard : shards) {
+            shard.dataSource.close();
+        }
+    }
+
+    @Override
+    public CadastroDto insert(CadastroDto cadastro) {
+        Shard shard = shardForEmail(cadastro.getEmail());
+        return withUniqueEmails(shard, List.of(cadastro.getEmail()), () -> {
+            shard.repository.insert(cadastro);
+            return shard.toGlobal(cadastro);
+        });
+    }
+
+    @Override
+    public void insertAll(List<CadastroDto> cadastros) {
+        List<List<Integer>> positions = groupByShard(cadastros.size(), i -> shardForEmail(cadastros.get(i).getEmail()).index);
+        forEachShardGroup(cadastros.size(), positions, (shard, group) -> {
+            List<CadastroDto> slice = group.stream().map(cadastros::get).toList();
+            withUniqueEmails(shard, slice.stream().map(CadastroDto::getEmail).toList(), () -> shard.inTransaction(() -> {
+                shard.repository.insertAll(slice);
+                return null;
+            }));
+            slice.forEach(shard::toGlobal);
+            int[] inserted = new int[slice.size()];
+            Arrays.fill(inserted, 1);
+            return inserted;
+        });
+    }
+
+    @Override
+    public Optional<CadastroDto> findById(long id) {
+        Shard shard = shardOf(id);
+        return shard == null ? Optional.empty() : shard.repository.findById(localId(id)).map(shard::toGlobal);
+    }
+
+    @Override
+    public Optional<CadastroDto> findByEmail(String email) {
+        return onAllShards(shard -> shard.repository.findByEmail(email).map(shard::toGlobal))
+                .stream()
+                .flatMap(Optional::stream)
+                .min(Comparator.comparingLong(CadastroDto::getId));
+    }
+
+    /**
+     * Each shard returns its first {@code limit} records after {@code afterId} in global ID order; the union is
+     * merged and cut to {@code limit}, so a page costs one index range scan per shard.
+     */
+    @Override
+    public List<CadastroDto> findPage(long afterId, int limit) {
+        return onAllShards(shard -> shard.repository.findPage(shard.localAfter(afterId), limit)
+                .stream()
+                .map(shard::toGlobal)
+                .toList())
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingLong(CadastroDto::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void forEachOrdered(Consumer<CadastroDto> consumer) {
+        long after = Long.MIN_VALUE;
+        List<CadastroDto> page;
+        do {
+            page = findPage(after, exportPageSize);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == exportPageSize);
+    }
+
+    @Override
+    public long count() {
+        return onAllShards(shard -> shard.repository.count()).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public boolean update(long id, CadastroDto cadastro) {
+        Shard shard = shardOf(id);
+        return shard != null
+                && withUniqueEmails(shard, List.of(cadastro.getEmail()), () -> shard.repository.update(localId(id), cadastro));
+    }
+
+    @Override
+    public int[] updateAll(List<CadastroDto> cadastros) {
+        List<List<Integer>> positions = groupByShard(cadastros.size(), i -> shardIndex(cadastros.get(i).getId()));
+        return forEachShardGroup(cadastros.size(), positions, (shard, group) -> {
+            List<CadastroDto> slice = group.stream()
+                    .map(cadastros::get)
+                    .map(cadastro -> new CadastroDto(localId(cadastro.getId()), cadastro.getNome(), cadastro.getEmail(), cadastro.getIdade()))
+                    .toList();
+            return withUniqueEmails(shard, slice.stream().map(CadastroDto::getEmail).toList(),
+                    () -> shard.inTransaction(() -> shard.repository.updateAll(slice)));
+        });
+    }
+
+    @Override
+    public Optional<CadastroDto> patch(long id, String nome, String email, Integer idade) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        List<String> emails = email == null ? List.of() : List.of(email);
+        return withUniqueEmails(shard, emails, () -> shard.repository.patch(localId(id), nome, email, idade).map(shard::toGlobal));
+    }
+
+    /**
+     * Overwrites the record wherever it lives; a new e-mail is inserted on the shard its hash selects.
+     */
+    @Override
+    public CadastroDto upsertByEmail(CadastroDto cadastro) {
+        return withEmailLocks(List.of(cadastro.getEmail()), () -> {
+            Shard shard = findByEmail(cadastro.getEmail())
+                    .map(existing -> shardOf(existing.getId()))
+                    .orElseGet(() -> shardForEmail(cadastro.getEmail()));
+            return shard.toGlobal(shard.repository.upsertByEmail(cadastro));
+        });
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        Shard shard = shardOf(id);
+        return shard != null && shard.repository.deleteById(localId(id));
+    }
+
+    @Override
+    public int[] deleteAll(List<Long> ids) {
+        List<List<Integer>> positions = groupByShard(ids.size(), i -> shardIndex(ids.get(i)));
+        return forEachShardGroup(ids.size(), positions, (shard, group) -> {
+            List<Long> slice = group.stream().map(i -> localId(ids.get(i))).toList();
+            return shard.inTransaction(() -> shard.repository.deleteAll(slice));
+        });
+    }
+
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int limit) {
+        return onAllShards(shard -> shard.repository.purgeDeleted(deletedBefore, limit)).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public long countDeleted() {
+        return onAllShards(shard -> shard.repository.countDeleted()).stream().mapToLong(Long::longValue).sum();
+    }
+
+    static long globalId(long localId, int shard) {
+        return (localId << SHARD_BITS) | shard;
+    }
+
+    static long localId(long globalId) {
+        return globalId >>> SHARD_BITS;
+    }
+
+    static int shardIndex(Long globalId) {
+        return globalId == null || globalId < 0 ? -1 : (int) (globalId & SHARD_MASK);
+    }
+
+    private Shard shardOf(long globalId) {
+        int index = shardIndex(globalId);
+        return index >= 0 && index < shards.size() ? shards.get(index) : null;
+    }
+
+    static int shardIndexForEmail(String email, int shardCount) {
+        return Math.floorMod(email.trim().toLowerCase(Locale.ROOT).hashCode(), shardCount);
+    }
+
+    private Shard shardForEmail(String email) {
+        return shards.get(shardIndexForEmail(email, shards.size()));
+    }
+
+    /**
+     * Runs {@code write} of {@code emails} to {@code target}, first rejecting any e-mail that a live record on another
+     * shard already has. The locks of the e-mails' hash shards are held until the write has committed, so a
+     * concurrent write of the same e-mail to any shard waits and then sees it. Without {@code cadastro.email.unique}
+     * the write runs as is.
+     */
+    private <T> T withUniqueEmails(Shard target, List<String> emails, Supplier<T> write) {
+        if (!uniqueEmail || emails.isEmpty()) {
+            return write.get();
+        }
+        return withEmailLocks(emails, () -> {
+            for (String email : emails) {
+                boolean taken = onAllShards(shard -> shard != target && shard.repository.findByEmail(email).isPresent())
+                        .contains(true);
+                if (taken) {
+                    throw new DuplicateKeyException("E-mail já cadastrado: " + email);
+                }
+            }
+            return write.get();
+        });
+    }
+
+    /**
+     * Holds the locks of the shards the e-mails hash to, taken in shard order so that two writes never wait for each
+     * other's locks. A no-op without {@code cadastro.email.unique}.
+     */
+    private <T> T withEmailLocks(List<String> emails, Supplier<T> work) {
+        if (!uniqueEmail) {
+            return work.get();
+        }
+        int[] locked = emails.stream().mapToInt(email -> shardIndexForEmail(email, shards.size())).distinct().sorted().toArray();
+        for (int index : locked) {
+            emailLocks[index].lock();
+        }
+        try {
+            return work.get();
+        } finally {
+            for (int i = locked.length - 1; i >= 0; i--) {
+                emailLocks[locked[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Positions 0..size-1 grouped by shard index; positions whose ID maps to no shard are left out,
+     * which reports them as not found (0 affected rows).
+     */
+    private List<List<Integer>> groupByShard(int size, Function<Integer, Integer> shardOfPosition) {
+        List<List<Integer>> positions = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            int index = shardOfPosition.apply(i);
+            if (index >= 0 && index < shards.size()) {
+                positions.get(index).add(i);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Runs {@code action} once per shard with positions and scatters the per-record results back to input order.
+     * Every group runs to completion even when another one fails, so the outcome of each record is known: when all
+     * groups fail nothing was written and the first failure is thrown, otherwise a {@link PartialWriteException}
+     * reports the positions of the failed groups.
+     */
+    private int[] forEachShardGroup(int size, List<List<Integer>> positions, BiFunction<Shard, List<Integer>, int[]> action) {
+        int[] affectedRows = new int[size];
+        List<Shard> involved = shards.stream().filter(shard -> !positions.get(shard.index).isEmpty()).toList();
+        if (involved.size() == 1) {
+            Shard shard = involved.get(0);
+            scatter(action.apply(shard, positions.get(shard.index)), positions.get(shard.index), affectedRows);
+            return affectedRows;
+        }
+        List<Future<int[]>> futures = involved.stream()
+                .map(shard -> executor.submit(() -> action.apply(shard, positions.get(shard.index))))
+                .toList();
+
+        List<Integer> failedPositions = new ArrayList<>();
+        RuntimeException failure = null;
+        int failedGroups = 0;
+        for (int i = 0; i < involved.size(); i++) {
+            List<Integer> group = positions.get(involved.get(i).index);
+            try {
+                scatter(futures.get(i).get(), group, affectedRows);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the shards", e);
+            } catch (ExecutionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime
+                        ? runtime
+                        : new IllegalStateException("Shard operation failed", e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+                failedPositions.addAll(group);
+                failedGroups++;
+            }
+        }
+        if (failure == null) {
+            return affectedRows;
+        }
+        if (failedGroups == involved.size()) {
+            throw failure;
+        }
+        failedPositions.sort(null);
+        throw new PartialWriteException(affectedRows, failedPositions, failure);
+    }
+
+    private static void scatter(int[] shardResults, List<Integer> positions, int[] results) {
+        for (int i = 0; i < positions.size(); i++) {
+            results[positions.get(i)] = shardResults[i];
+        }
+    }
+
+    private <T> List<T> onAllShards(Function<Shard, T> action) {
+        if (shards.size() == 1) {
+            return List.of(action.apply(shards.get(0)));
+        }
+        return await(shards.stream().map(shard -> executor.submit(() -> action.apply(shard))).toList());
+    }
+
+    private static <T> List<T> await(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Shard operation failed", e.getCause());
+        }
+        return results;
+    }
+
+    private static final class Shard {
+        private final int index;
+        private final HikariDataSource dataSource;
+        private final JdbcCadastroRepository repository;
+        private final TransactionTemplate transactionTemplate;
+
+        private Shard(int index, String url, String username, String password, int poolSize, int fetchSize,
+                      String deleteMode, boolean uniqueEmail) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("cadastro-shard-" + index);
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            this.index = index;
+            this.dataSource = new HikariDataSource(config);
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            createSchema(jdbcTemplate, uniqueEmail);
+            this.repository = new JdbcCadastroRepository(jdbcTemplate, fetchSize, deleteMode);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        private static void createSchema(JdbcTemplate jdbcTemplate, boolean uniqueEmail) {
+            jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS AIC_CADASTRO (
+                    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    NOME VARCHAR(255) NOT NULL,
+                    EMAIL VARCHAR(255) NOT NULL,
+                    IDADE INT,
+                    EMAIL_NORM VARCHAR(255) GENERATED ALWAYS AS (LOWER(TRIM(EMAIL))),
+                    DELETED_AT TIMESTAMP,
+                    EMAIL_LIVE VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN DELETED_AT IS NULL THEN LOWER(TRIM(EMAIL)) END)
+                )
+                """);
+            // Same e-mail indexes as DatabaseInitializerConfig: tombstoned rows do not count for uniqueness.
+            jdbcTemplate.execute("ALTER TABLE AIC_CADASTRO ADD COLUMN IF NOT EXISTS EMAIL_LIVE VARCHAR(255) "
+                    + "GENERATED ALWAYS AS (CASE WHEN DELETED_AT IS NULL THEN LOWER(TRIM(EMAIL)) END)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_AIC_CADASTRO_EMAIL_NORM ON AIC_CADASTRO (EMAIL_NORM)");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS UK_AIC_CADASTRO_EMAIL_NORM");
+            if (uniqueEmail) {
+                jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS UK_AIC_CADASTRO_EMAIL_LIVE ON AIC_CADASTRO (EMAIL_LIVE)");
+            } else {
+                jdbcTemplate.execute("DROP INDEX IF EXISTS UK_AIC_CADASTRO_EMAIL_LIVE");
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_AIC_CADASTRO_DELETED_AT ON AIC_CADASTRO (DELETED_AT)");
+        }
+
+        private <T> T inTransaction(Supplier<T> work) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+
+        private CadastroDto toGlobal(CadastroDto cadastro) {
+            cadastro.setId(globalId(cadastro.getId(), index));
+            return cadastro;
+        }
+
+        /**
+         * Largest local ID whose global ID is not greater than {@code afterId}: the shard's records after
+         * {@code afterId} in global order are exactly those with a greater local ID.
+         */
+        private long localAfter(long afterId) {
+            return afterId < 0 ? -1 : Math.floorDiv(afterId - index, (long) MAX_SHARDS);
+        }
+    }
+}
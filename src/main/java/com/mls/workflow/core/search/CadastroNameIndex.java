@@ -0,0 +1,341 @@
+package com.mls.workflow.core.search;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroSearchHitDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory n-gram index over NOME for partial-name search.
+ * <p>
+ * Names are normalized (accents removed, lower case, only letters and digits) and split into words. Every word
+ * contributes its trigrams plus two prefix grams ({@code ^a}, {@code ^ab}). A query term of three or more characters
+ * matches any name containing it; shorter terms match word prefixes. Each gram maps to a posting list of document
+ * numbers that only grows at the end, so posting lists stay sorted and a query is an intersection of sorted
+ * {@code int} arrays followed by a check of the surviving names.
+ * <p>
+ * A changed name is indexed as a new document and the old one is marked deleted; when more than half of the
+ * documents are deleted the postings are rebuilt from the live ones.
+ */
+public class CadastroNameIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final int MIN_COMPACTION_DOCS = 1024;
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt((Candidate candidate) -> candidate.score)
+            .thenComparingInt(candidate -> -candidate.length)
+            .thenComparingLong(candidate -> -candidate.id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docByCadastroId = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private long[] cadastroIds = new long[1024];
+    private String[] nomes = new String[1024];
+    private String[] normalized = new String[1024];
+    private int docCount;
+    private int deletedCount;
+
+    /**
+     * Replaces the whole content with the records passed by {@code scan}. Changes arriving meanwhile wait for the
+     * load to finish and are applied on top of it.
+     */
+    public void rebuild(Consumer<Consumer<CadastroDto>> scan) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            scan.accept(cadastro -> add(cadastro.getId(), cadastro.getNome()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(long id, String nome) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByCadastroId.get(id);
+            if (doc != null && normalized[doc].equals(normalize(nome))) {
+                nomes[doc] = nome;
+                return;
+            }
+            if (doc != null) {
+                markDeleted(doc);
+            }
+            add(id, nome);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByCadastroId.remove(id);
+            if (doc != null) {
+                markDeleted(doc);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByCadastroId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} records whose name matches every term of {@code query}, best first: by score, then
+     * shorter names, then lower IDs.
+     */
+    public List<CadastroSearchHitDto> search(String query, int limit) {
+        List<String> terms = words(normalize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (String term : terms) {
+            queryGrams(term, grams);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            int[] candidates = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = intersect(candidates, count, lists.get(i));
+            }
+
+            PriorityQueue<Candidate> top = new PriorityQueue<>(limit, RANKING);
+            for (int i = 0; i < count; i++) {
+                int doc = candidates[i];
+                if (deleted.get(doc)) {
+                    continue;
+                }
+                int score = score(normalized[doc], terms);
+                if (score == 0) {
+                    continue;
+                }
+                int length = normalized[doc].length();
+                if (top.size() < limit) {
+                    top.add(new Candidate(doc, cadastroIds[doc], score, length));
+                } else if (top.peek().isWorseThan(score, length, cadastroIds[doc])) {
+                    top.poll();
+                    top.add(new Candidate(doc, cadastroIds[doc], score, length));
+                }
+            }
+
+            List<CadastroSearchHitDto> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Candidate candidate = top.poll();
+                hits.add(new CadastroSearchHitDto(candidate.id, nomes[candidate.doc], candidate.score));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> words(String normalizedText) {
+        return normalizedText.isEmpty() ? List.of() : List.of(normalizedText.split(" "));
+    }
+
+    private static void queryGrams(String term, Set<String> grams) {
+        if (term.length() < 3) {
+            grams.add("^" + term);
+        } else {
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                grams.add(term.substring(i, i + 3));
+            }
+        }
+    }
+
+    private static void documentGrams(String word, Set<String> grams) {
+        grams.add("^" + word.substring(0, 1));
+        if (word.length() >= 2) {
+            grams.add("^" + word.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            grams.add(word.substring(i, i + 3));
+        }
+    }
+
+    /**
+     * Sum over the terms of their best occurrence in the name; 0 when some term does not occur. Works on the
+     * normalized name in place, without splitting it, since this runs for every candidate.
+     */
+    private static int score(String name, List<String> terms) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (int at = name.indexOf(term); at >= 0 && best < 3; at = name.indexOf(term, at + 1)) {
+                int end = at + term.length();
+                if (at == 0 || name.charAt(at - 1) == ' ') {
+                    best = Math.max(best, end == name.length() || name.charAt(end) == ' ' ? 3 : 2);
+                } else if (term.length() >= 3) {
+                    best = Math.max(best, 1);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Keeps in {@code candidates[0..count)} only the documents also present in {@code list}; returns the new count.
+     */
+    private static int intersect(int[] candidates, int count, Postings list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < list.size; i++) {
+            int doc = candidates[i];
+            while (j < list.size && list.docs[j] < doc) {
+                j++;
+            }
+            if (j < list.size && list.docs[j] == doc) {
+                candidates[kept++] = doc;
+            }
+        }
+        return kept;
+    }
+
+    private void add(long id, String nome) {
+        if (docCount == cadastroIds.length) {
+            int capacity = docCount * 2;
+            cadastroIds = Arrays.copyOf(cadastroIds, capacity);
+            nomes = Arrays.copyOf(nomes, capacity);
+            normalized = Arrays.copyOf(normalized, capacity);
+        }
+        int doc = docCount++;
+        cadastroIds[doc] = id;
+        nomes[doc] = nome;
+        normalized[doc] = normalize(nome);
+        docByCadastroId.put(id, doc);
+
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(normalized[doc])) {
+            documentGrams(word, grams);
+        }
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(doc);
+        }
+    }
+
+    private void markDeleted(int doc) {
+        deleted.set(doc);
+        nomes[doc] = null;
+        deletedCount++;
+    }
+
+    private void compactIfSparse() {
+        if (docCount < MIN_COMPACTION_DOCS || deletedCount * 2 < docCount) {
+            return;
+        }
+        long[] liveIds = new long[docCount - deletedCount];
+        String[] liveNomes = new String[liveIds.length];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (!deleted.get(doc)) {
+                liveIds[live] = cadastroIds[doc];
+                liveNomes[live] = nomes[doc];
+                live++;
+            }
+        }
+        clear();
+        for (int i = 0; i < live; i++) {
+            add(liveIds[i], liveNomes[i]);
+        }
+    }
+
+    private void clear() {
+        docByCadastroId.clear();
+        postings.clear();
+        deleted.clear();
+        Arrays.fill(nomes, 0, docCount, null);
+        Arrays.fill(normalized, 0, docCount, null);
+        docCount = 0;
+        deletedCount = 0;
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    private static final class Candidate {
+        private final int doc;
+        private final long id;
+        private final int score;
+        private final int length;
+
+        private Candidate(int doc, long id, int score, int length) {
+            this.doc = doc;
+            this.id = id;
+            this.score = score;
+            this.length = length;
+        }
+
+        private boolean isWorseThan(int otherScore, int otherLength, long otherId) {
+            if (score != otherScore) {
+                return score < otherScore;
+            }
+            if (length != otherLength) {
+                return length > otherLength;
+            }
+            return id > otherId;
+        }
+    }
+}
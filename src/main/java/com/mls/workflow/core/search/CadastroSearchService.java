@@ -0,0 +1,66 @@
+package com.mls.workflow.core.search;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroSearchHitDto;
+import com.mls.workflow.core.repository.CadastroRepository;
+import com.mls.workflow.core.service.CadastroChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Partial-name search over a {@link CadastroNameIndex} ({@code cadastro.search.enabled}).
+ * <p>
+ * The index is loaded with one ordered scan once the application is ready (after the schema is in place) and is
+ * then kept current from the committed changes of {@link com.mls.workflow.core.service.CadastroService}.
+ * Writes that bypass the service (SQL scripts, the H2 console) are only picked up by {@link #rebuild()}.
+ */
+@Service
+@ConditionalOnProperty(name = "cadastro.search.enabled", havingValue = "true", matchIfMissing = true)
+public class CadastroSearchService implements CadastroChangeListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroSearchService.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    private final CadastroRepository cadastroRepository;
+    private final CadastroNameIndex index = new CadastroNameIndex();
+
+    public CadastroSearchService(CadastroRepository cadastroRepository) {
+        this.cadastroRepository = cadastroRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            index.rebuild(cadastroRepository::forEachOrdered);
+            LOG.info("Name search index loaded with {} records in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            LOG.warn("Could not load the name search index, searches will only see new changes: {}",
+                    e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    public List<CadastroSearchHitDto> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    @Override
+    public void onChange(String operacao, List<Long> ids, List<CadastroDto> after) {
+        for (int i = 0; i < ids.size(); i++) {
+            CadastroDto cadastro = after.get(i);
+            if (cadastro == null) {
+                index.remove(ids.get(i));
+            } else {
+                index.put(ids.get(i), cadastro.getNome());
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroChangeDto;
+import com.mls.workflow.core.dto.v1.CadastroChangeFeedDto;
+import com.mls.workflow.core.repository.CadastroOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Change feed over the transactional outbox ({@code cadastro.outbox.enabled}).
+ * <p>
+ * {@link CadastroService} records every change through {@link #recordAll} inside its own transaction. Consumers read
+ * with a cursor ({@code after} = last SEQ seen) and may long-poll: a poll with nothing to return is parked, and a
+ * single publisher thread, woken after each commit that wrote to the outbox, runs one query per distinct cursor and
+ * completes all parked polls at once.
+ * <p>
+ * SEQ values are taken at insert time, so a transaction that commits late can leave a hole that fills in after later
+ * SEQs are already visible. A consumer that skipped the hole would never see that event, so the feed stops at a hole
+ * until it is older than {@code cadastro.outbox.gap-timeout}. After that it is treated as a rolled back insert.
+ * SEQs already removed by {@link CadastroOutboxPurger} are not a hole.
+ */
+@Service
+@ConditionalOnProperty(name = "cadastro.outbox.enabled", havingValue = "true")
+public class CadastroChangeFeed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroChangeFeed.class);
+
+    public static final int MAX_LIMIT = 1000;
+
+    private final CadastroOutboxRepository outboxRepository;
+    private final CadastroOutboxPurger outboxPurger;
+    private final Duration gapTimeout;
+    private final Duration recheckInterval;
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Semaphore signals = new Semaphore(0);
+
+    private volatile boolean running;
+    private Thread publisher;
+
+    public CadastroChangeFeed(CadastroOutboxRepository outboxRepository,
+                              CadastroOutboxPurger outboxPurger,
+                              @Value("${cadastro.outbox.gap-timeout:5s}") Duration gapTimeout,
+                              @Value("${cadastro.outbox.recheck-interval:500ms}") Duration recheckInterval) {
+        this.outboxRepository = outboxRepository;
+        this.outboxPurger = outboxPurger;
+        this.gapTimeout = gapTimeout;
+        this.recheckInterval = recheckInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        publisher = new Thread(this::publishLoop, "cadastro-change-publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+        for (Waiter waiter; (waiter = waiters.poll()) != null; ) {
+            waiter.result.setResult(CadastroChangeFeedDto.of(List.of(), waiter.after));
+        }
+    }
+
+    /**
+     * Writes one outbox event per record through the current transaction; {@code after} holds the new states,
+     * {@code null} for deletes. Parked polls are woken once the transaction commits.
+     */
+    public void recordAll(String operacao, List<Long> ids, List<CadastroDto> after) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        outboxRepository.appendAll(operacao, ids, after);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    signals.release();
+                }
+            });
+        } else {
+            signals.release();
+        }
+    }
+
+    /**
+     * Up to {@code limit} events after {@code after}, stopping at a sequence hole that may still be filled.
+     */
+    public List<CadastroChangeDto> read(long after, int limit) {
+        return visiblePrefix(outboxRepository.findAfter(after, limit), after, limit);
+    }
+
+    /**
+     * Like {@link #read}, but when nothing is available waits up to {@code wait} for the next commit.
+     * An expired wait completes with an empty page whose {@code next} is {@code after}.
+     */
+    public DeferredResult<CadastroChangeFeedDto> poll(long after, int limit, Duration wait) {
+        CadastroChangeFeedDto empty = CadastroChangeFeedDto.of(List.of(), after);
+        DeferredResult<CadastroChangeFeedDto> result = new DeferredResult<>(Math.max(wait.toMillis(), 1L), empty);
+
+        List<CadastroChangeDto> ready = read(after, limit);
+        if (!ready.isEmpty() || wait.isZero() || !running) {
+            result.setResult(CadastroChangeFeedDto.of(ready, after));
+            return result;
+        }
+
+        Waiter waiter = new Waiter(after, limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // A commit may have landed between the read above and the registration.
+        signals.release();
+        return result;
+    }
+
+    private void publishLoop() {
+        while (running) {
+            try {
+                signals.tryAcquire(recheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+                // Fold every commit signalled so far into this pass.
+                signals.drainPermits();
+                if (!waiters.isEmpty()) {
+                    dispatch();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.warn("Change feed dispatch failed, retrying on the next signal", e);
+            }
+        }
+    }
+
+    private void dispatch() {
+        Map<Long, List<Waiter>> waitersByCursor = new TreeMap<>();
+        for (Waiter waiter : waiters) {
+            if (!waiter.result.isSetOrExpired()) {
+                waitersByCursor.computeIfAbsent(waiter.after, cursor -> new ArrayList<>()).add(waiter);
+            }
+        }
+
+        for (Map.Entry<Long, List<Waiter>> entry : waitersByCursor.entrySet()) {
+            long after = entry.getKey();
+            int limit = entry.getValue().stream().mapToInt(waiter -> waiter.limit).max().orElse(1);
+            List<CadastroChangeDto> changes = read(after, limit);
+            if (changes.isEmpty()) {
+                continue;
+            }
+            for (Waiter waiter : entry.getValue()) {
+                List<CadastroChangeDto> page = changes.size() > waiter.limit ? changes.subList(0, waiter.limit) : changes;
+                waiter.result.setResult(CadastroChangeFeedDto.of(List.copyOf(page), after));
+            }
+        }
+    }
+
+    private List<CadastroChangeDto> visiblePrefix(List<CadastroChangeDto> changes, long after, int limit) {
+        Instant settled = Instant.now().minus(gapTimeout);
+        long expected = Math.max(after, outboxPurger.getPurgedThrough()) + 1;
+        for (int i = 0; i < changes.size() && i < limit; i++) {
+            CadastroChangeDto change = changes.get(i);
+            if (change.getSeq() > expected && change.getCreatedAt().isAfter(settled)) {
+                return changes.subList(0, i);
+            }
+            expected = change.getSeq() + 1;
+        }
+        return changes;
+    }
+
+    private static final class Waiter {
+        private final long after;
+        private final int limit;
+        private final DeferredResult<CadastroChangeFeedDto> result;
+
+        private Waiter(long after, int limit, DeferredResult<CadastroChangeFeedDto> result) {
+            this.after = after;
+            this.limit = limit;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.core.dto.CadastroDto;
+
+import java.util.List;
+
+/**
+ * Receives every change made through {@link CadastroService} once it is committed, for in-memory structures
+ * derived from the table (search index, statistics). Rolled back changes are never delivered.
+ */
+public interface CadastroChangeListener {
+
+    /**
+     * {@code after} holds the state of each record re-read after the commit, in the order of {@code ids}; {@code null}
+     * once it no longer exists. It may already include a later change to the same record. Calls are serialized and
+     * run on the writing thread, so implementations must be quick.
+     */
+    void onChange(String operacao, List<Long> ids, List<CadastroDto> after);
+}
@@ -0,0 +1,233 @@
+package com.mls.workflow.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mls.workflow.core.dto.BatchItemResultDto;
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CreateRequestDto;
+import com.mls.workflow.core.dto.v1.ImportResultDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large NDJSON or CSV uploads line by line. Valid rows are buffered up to the batch chunk size and
+ * handed to {@link CadastroService#createAll}, so at most one chunk of rows is held in memory at any time.
+ */
+@Service
+public class CadastroImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroImportService.class);
+
+    private final CadastroService cadastroService;
+    private final ObjectReader createRequestReader;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    public CadastroImportService(CadastroService cadastroService,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Value("${cadastro.batch.chunk-size:500}") int chunkSize,
+                                 @Value("${cadastro.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.cadastroService = cadastroService;
+        this.createRequestReader = objectMapper.readerFor(CreateRequestDto.class);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    public ImportResultDto importNdjson(InputStream inputStream) throws IOException {
+        Session session = new Session();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    session.accept(lineNumber, createRequestReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    session.reject(lineNumber, "JSON inválido: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return session.finish();
+    }
+
+    /**
+     * Expects a header line naming the {@code nome}, {@code email} and {@code idade} columns, in any order,
+     * separated by {@code ,} or {@code ;}. Quoted fields may contain the separator but not line breaks.
+     */
+    public ImportResultDto importCsv(InputStream inputStream) throws IOException {
+        Session session = new Session();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            CsvHeader header = null;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (header == null) {
+                    header = CsvHeader.parse(line);
+                    if (header.missingColumns() != null) {
+                        session.reject(lineNumber, "Cabeçalho CSV sem as colunas: " + header.missingColumns());
+                        break;
+                    }
+                    continue;
+                }
+
+                List<String> fields = splitCsvLine(line, header.separator());
+                CreateRequestDto request = new CreateRequestDto();
+                request.setNome(header.field(fields, "nome"));
+                request.setEmail(header.field(fields, "email"));
+                String idade = header.field(fields, "idade");
+                if (idade != null && !idade.isBlank()) {
+                    try {
+                        request.setIdade(Integer.valueOf(idade.trim()));
+                    } catch (NumberFormatException e) {
+                        session.reject(lineNumber, "Idade inválida: " + idade);
+                        continue;
+                    }
+                }
+                session.accept(lineNumber, request);
+            }
+        }
+        return session.finish();
+    }
+
+    static List<String> splitCsvLine(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record CsvHeader(char separator, int nome, int email, int idade) {
+
+        static CsvHeader parse(String line) {
+            char separator = line.indexOf(';') >= 0 && line.indexOf(',') < 0 ? ';' : ',';
+            List<String> columns = splitCsvLine(line, separator).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            return new CsvHeader(separator, columns.indexOf("nome"), columns.indexOf("email"), columns.indexOf("idade"));
+        }
+
+        String missingColumns() {
+            List<String> missing = new ArrayList<>();
+            if (nome < 0) missing.add("nome");
+            if (email < 0) missing.add("email");
+            if (idade < 0) missing.add("idade");
+            return missing.isEmpty() ? null : String.join(", ", missing);
+        }
+
+        String field(List<String> fields, String column) {
+            int index = switch (column) {
+                case "nome" -> nome;
+                case "email" -> email;
+                default -> idade;
+            };
+            return index < fields.size() ? fields.get(index) : null;
+        }
+    }
+
+    /** Per-upload state: the pending chunk with the source line of each row, plus the running counters. */
+    private class Session {
+
+        private final List<CadastroDto> pending = new ArrayList<>(chunkSize);
+        private final long[] pendingLines = new long[chunkSize];
+        private final ImportResultDto result = new ImportResultDto();
+
+        void accept(long lineNumber, CreateRequestDto request) {
+            // A JSON line holding the literal null binds to no object; the validator rejects null arguments.
+            if (request == null) {
+                reject(lineNumber, "Linha vazia/objeto ausente");
+                return;
+            }
+            Set<ConstraintViolation<CreateRequestDto>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(lineNumber, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            pendingLines[pending.size()] = lineNumber;
+            pending.add(new CadastroDto(null, request.getNome(), request.getEmail(), request.getIdade()));
+            if (pending.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long lineNumber, String message) {
+            result.setRejected(result.getRejected() + 1);
+            if (result.getRejections().size() < maxReportedRejections) {
+                result.getRejections().add(new ImportResultDto.Rejection(lineNumber, message));
+            } else {
+                result.setRejectionsTruncated(true);
+            }
+        }
+
+        ImportResultDto finish() {
+            flush();
+            LOG.info("Import finished: {} accepted, {} rejected", result.getAccepted(), result.getRejected());
+            return result;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<BatchItemResultDto> outcomes = cadastroService.createAll(pending);
+            for (int i = 0; i < outcomes.size(); i++) {
+                BatchItemResultDto outcome = outcomes.get(i);
+                if (outcome.isSuccess()) {
+                    result.setAccepted(result.getAccepted() + 1);
+                } else {
+                    reject(pendingLines[i], outcome.getMessage());
+                }
+            }
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.core.repository.CadastroOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes change events older than {@code cadastro.outbox.retention} from AIC_CADASTRO_OUTBOX.
+ * <p>
+ * Paced like {@link CadastroPurger}: every {@code cadastro.outbox.purge.interval} a run deletes in chunks of
+ * {@code chunk-size} rows separated by {@code pause}, and ends when a chunk comes back short or after
+ * {@code max-chunks-per-run}. A consumer whose cursor falls behind the retention skips the purged events.
+ * <p>
+ * Events are removed oldest first as a SEQ prefix, and the last removed SEQ is kept so that
+ * {@link CadastroChangeFeed} does not mistake the purged range for a hole left by an uncommitted write.
+ */
+@Component
+@ConditionalOnProperty(name = "cadastro.outbox.enabled", havingValue = "true")
+public class CadastroOutboxPurger {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroOutboxPurger.class);
+
+    private final CadastroOutboxRepository outboxRepository;
+    private final Duration interval;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Duration pause;
+    private final int maxChunksPerRun;
+
+    private final Counter purgedRows;
+    private final Counter failedRuns;
+    private final Timer runTimer;
+
+    private volatile long purgedThrough;
+    private ScheduledExecutorService scheduler;
+
+    public CadastroOutboxPurger(CadastroOutboxRepository outboxRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${cadastro.outbox.purge.interval:5m}") Duration interval,
+                                @Value("${cadastro.outbox.retention:7d}") Duration retention,
+                                @Value("${cadastro.outbox.purge.chunk-size:500}") int chunkSize,
+                                @Value("${cadastro.outbox.purge.pause:50ms}") Duration pause,
+                                @Value("${cadastro.outbox.purge.max-chunks-per-run:1000}") int maxChunksPerRun) {
+        this.outboxRepository = outboxRepository;
+        this.interval = interval;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.purgedRows = Counter.builder("cadastro.outbox.purge.rows")
+                .description("Change events removed after the retention period")
+                .register(meterRegistry);
+        this.failedRuns = Counter.builder("cadastro.outbox.purge.failures")
+                .description("Outbox purge runs aborted by an error")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("cadastro.outbox.purge.run")
+                .description("Duration of an outbox purge run")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cadastro-outbox-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Performs one purge run and returns the number of removed events.
+     */
+    public long purge() throws InterruptedException {
+        Instant createdBefore = Instant.now().minus(retention);
+        long removed = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            long boundary = outboxRepository.findPurgeBoundary(createdBefore, chunkSize);
+            if (boundary == 0) {
+                break;
+            }
+            int purged = outboxRepository.deleteThrough(boundary);
+            purgedThrough = Math.max(purgedThrough, boundary);
+            removed += purged;
+            purgedRows.increment(purged);
+            if (purged < chunkSize) {
+                break;
+            }
+            Thread.sleep(pause.toMillis());
+        }
+        return removed;
+    }
+
+    /**
+     * Highest SEQ removed by this node since startup, 0 if none.
+     */
+    public long getPurgedThrough() {
+        return purgedThrough;
+    }
+
+    private void runSafely() {
+        try {
+            long removed = runTimer.recordCallable(this::purge);
+            if (removed > 0) {
+                LOG.info("Purged {} change events older than {}", removed, retention);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Keep the schedule alive; the next run picks up where this one stopped.
+            failedRuns.increment();
+            LOG.error("Purge of the change outbox failed", e);
+        }
+    }
+}
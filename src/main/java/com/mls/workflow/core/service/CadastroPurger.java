@@ -0,0 +1,127 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.core.repository.CadastroRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Physically removes soft-deleted records off the request path ({@code cadastro.delete.mode=soft}).
+ * <p>
+ * Every {@code interval} a run deletes tombstones older than {@code retention} in chunks of {@code chunk-size}
+ * rows. Each chunk is its own short statement, so row locks are held only briefly, and consecutive chunks are
+ * separated by {@code pause} to leave room for foreground writes. A run ends when a chunk comes back short or
+ * after {@code max-chunks-per-run}. Progress is published as {@code cadastro.purge.*} meters.
+ */
+@Component
+@ConditionalOnProperty(name = "cadastro.delete.mode", havingValue = "soft")
+public class CadastroPurger {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroPurger.class);
+
+    private final CadastroRepository cadastroRepository;
+    private final Duration interval;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Duration pause;
+    private final int maxChunksPerRun;
+
+    private final Counter purgedRows;
+    private final Counter failedRuns;
+    private final Timer runTimer;
+    private final AtomicLong pendingRows = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    public CadastroPurger(CadastroRepository cadastroRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${cadastro.purge.interval:30s}") Duration interval,
+                          @Value("${cadastro.purge.retention:0s}") Duration retention,
+                          @Value("${cadastro.purge.chunk-size:500}") int chunkSize,
+                          @Value("${cadastro.purge.pause:50ms}") Duration pause,
+                          @Value("${cadastro.purge.max-chunks-per-run:1000}") int maxChunksPerRun) {
+        this.cadastroRepository = cadastroRepository;
+        this.interval = interval;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.purgedRows = Counter.builder("cadastro.purge.rows")
+                .description("Soft-deleted records physically removed")
+                .register(meterRegistry);
+        this.failedRuns = Counter.builder("cadastro.purge.failures")
+                .description("Purge runs aborted by an error")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("cadastro.purge.run")
+                .description("Duration of a purge run")
+                .register(meterRegistry);
+        Gauge.builder("cadastro.purge.pending", pendingRows, AtomicLong::get)
+                .description("Soft-deleted records waiting to be purged, as of the last run")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cadastro-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Performs one purge run and returns the number of removed records.
+     */
+    public long purge() throws InterruptedException {
+        Instant deletedBefore = Instant.now().minus(retention);
+        long removed = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int purged = cadastroRepository.purgeDeleted(deletedBefore, chunkSize);
+            removed += purged;
+            purgedRows.increment(purged);
+            if (purged < chunkSize) {
+                break;
+            }
+            Thread.sleep(pause.toMillis());
+        }
+        pendingRows.set(cadastroRepository.countDeleted());
+        return removed;
+    }
+
+    private void runSafely() {
+        try {
+            long removed = runTimer.recordCallable(this::purge);
+            if (removed > 0) {
+                LOG.info("Purged {} soft-deleted records, {} still pending", removed, pendingRows.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Keep the schedule alive; the next run picks up where this one stopped.
+            failedRuns.increment();
+            LOG.error("Purge of soft-deleted records failed", e);
+        }
+    }
+}
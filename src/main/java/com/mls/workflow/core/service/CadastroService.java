@@ -1,90 +1,386 @@
 package com.mls.workflow.core.service;
 
+import com.mls.workflow.config.CachingConfig;
+import com.mls.workflow.core.dto.BatchItemResultDto;
 import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+import com.mls.workflow.core.repository.CadastroRepository;
+import com.mls.workflow.core.repository.PartialWriteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Validated
+@CacheConfig(cacheNames = CachingConfig.CADASTRO_CACHE)
 public class CadastroService {
 
-    private final JdbcTemplate jdbcTemplate;
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroService.class);
 
-    @Autowired
-    public CadastroService(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
-    }
+    public static final int MAX_PAGE_SIZE = 1000;
 
-    private final RowMapper<CadastroDto> rowMapper = new RowMapper<CadastroDto>() {
-        @Override
-        public CadastroDto mapRow(ResultSet rs, int rowNum) throws SQLException {
-            return new CadastroDto(
-                    rs.getLong("ID"),
-                    rs.getString("NOME"),
-                    rs.getString("EMAIL"),
-                    rs.getInt("IDADE")
-            );
+    private final CadastroRepository cadastroRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<CadastroChangeFeed> changeFeed;
+    private final ObjectProvider<CadastroChangeListener> changeListeners;
+    private final int batchChunkSize;
+    // Serializes the post-commit re-reads, so the last notification always carries the latest committed state.
+    private final Object listenerLock = new Object();
+
+    @Autowired
+    public CadastroService(CadastroRepository cadastroRepository,
+                           PlatformTransactionManager transactionManager,
+                           ObjectProvider<CadastroChangeFeed> changeFeed,
+                           ObjectProvider<CadastroChangeListener> changeListeners,
+                           @Value("${cadastro.batch.chunk-size:500}") int batchChunkSize) {
+        if (batchChunkSize < 1) {
+            throw new IllegalArgumentException("cadastro.batch.chunk-size must be positive, got " + batchChunkSize);
         }
-    };
+        this.cadastroRepository = cadastroRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changeFeed = changeFeed;
+        this.changeListeners = changeListeners;
+        this.batchChunkSize = batchChunkSize;
+    }
 
+    /**
+     * Inserts one record. Nothing is evicted: {@link #read} never caches a miss, so no entry can exist for a new ID.
+     */
+    @Transactional
     public CadastroDto create(@Valid @NotNull CadastroDto cadastroDto) {
-        String sql = "INSERT INTO AIC_CADASTRO (NOME, EMAIL, IDADE) VALUES (?, ?, ?)";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, cadastroDto.getNome());
-            ps.setString(2, cadastroDto.getEmail());
-            ps.setInt(3, cadastroDto.getIdade());
-            return ps;
-        }, keyHolder);
-
-        if (keyHolder.getKey() != null) {
-            cadastroDto.setId(keyHolder.getKey().longValue());
-        }
-        return cadastroDto;
+        CadastroDto created = cadastroRepository.insert(cadastroDto);
+        publish("CREATE", List.of(created.getId()), List.of(created));
+        return created;
     }
 
+    @Cacheable(key = "#id", condition = "#id != null", unless = "#result == null")
     public Optional<CadastroDto> read(Long id) {
-        String sql = "SELECT ID, NOME, EMAIL, IDADE FROM AIC_CADASTRO WHERE ID = ?";
-        try {
-            return Optional.ofNullable(jdbcTemplate.queryForObject(sql, rowMapper, id));
-        } catch (EmptyResultDataAccessException e) {
+        if (id == null) {
             return Optional.empty();
         }
+        return cadastroRepository.findById(id);
+    }
+
+    /**
+     * Looks a record up by e-mail, ignoring case and surrounding blanks, through the index on the generated
+     * EMAIL_NORM column. Without {@code cadastro.email.unique} several rows may share an e-mail; the oldest wins.
+     */
+    public Optional<CadastroDto> findByEmail(@NotBlank String email) {
+        return cadastroRepository.findByEmail(email);
+    }
+
+    /**
+     * Keyset (seek) pagination over the primary key: returns up to {@code limit} records with {@code ID > afterId},
+     * ordered by ID. Every page is an index range scan, so its cost does not grow with the page number.
+     * A {@code null} afterId starts from the first record.
+     */
+    public List<CadastroDto> list(Long afterId, @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        return cadastroRepository.findPage(afterId == null ? Long.MIN_VALUE : afterId, limit);
+    }
+
+    /**
+     * Number of live records; with sharded storage, the sum of per-shard counts taken in parallel.
+     */
+    public long count() {
+        return cadastroRepository.count();
     }
 
+    /**
+     * Streams every record, in ID order, to the consumer over a single forward-only, read-only cursor.
+     * Rows are fetched {@code cadastro.export.fetch-size} at a time and never collected, so heap usage
+     * does not depend on the table size.
+     */
+    public void exportAll(@NotNull Consumer<CadastroDto> consumer) {
+        cadastroRepository.forEachOrdered(consumer);
+    }
+
+    @Transactional
+    @CacheEvict(key = "#id", condition = "#id != null")
     public CadastroDto update(@NotNull Long id, @Valid @NotNull CadastroDto cadastroDto) {
-        String sql = "UPDATE AIC_CADASTRO SET NOME = ?, EMAIL = ?, IDADE = ? WHERE ID = ?";
-        int affectedRows = jdbcTemplate.update(sql, cadastroDto.getNome(), cadastroDto.getEmail(), cadastroDto.getIdade(), id);
-        if (affectedRows == 0) {
+        if (!cadastroRepository.update(id, cadastroDto)) {
             // If no rows were affected, it means the record with the given ID was not found.
             // In a real application, you might throw a specific exception here.
             return null; // Or throw an exception indicating not found
         }
         cadastroDto.setId(id); // Ensure the ID is set in the returned DTO
+        publish("UPDATE", List.of(id), List.of(cadastroDto));
         return cadastroDto;
     }
 
+    /**
+     * Applies only the non-null fields of {@code changes} in a single write and returns the resulting row.
+     * Empty when the ID does not exist.
+     */
+    @Transactional
+    @CacheEvict(key = "#id", condition = "#id != null")
+    public Optional<CadastroDto> patch(@NotNull Long id, @Valid @NotNull UpdateRequestDto changes) {
+        Optional<CadastroDto> patched = cadastroRepository.patch(id, changes.getNome(), changes.getEmail(), changes.getIdade());
+        patched.ifPresent(cadastro -> publish("UPDATE", List.of(id), List.of(cadastro)));
+        return patched;
+    }
+
+    /**
+     * Creates the record or, when a record with the same normalized e-mail already exists, overwrites it,
+     * in a single write that also returns the stored row.
+     */
+    @Transactional
+    @CacheEvict(key = "#result.id", condition = "#result != null")
+    public CadastroDto upsertByEmail(@Valid @NotNull CadastroDto cadastroDto) {
+        CadastroDto stored = cadastroRepository.upsertByEmail(cadastroDto);
+        publish("UPSERT", List.of(stored.getId()), List.of(stored));
+        return stored;
+    }
+
+    @Transactional
+    @CacheEvict(key = "#id", condition = "#id != null")
     public boolean delete(Long id) {
-        String sql = "DELETE FROM AIC_CADASTRO WHERE ID = ?";
-        int affectedRows = jdbcTemplate.update(sql, id);
-        return affectedRows > 0;
+        if (id == null || !cadastroRepository.deleteById(id)) {
+            return false;
+        }
+        publish("DELETE", List.of(id), Collections.singletonList(null));
+        return true;
+    }
+
+    /**
+     * Inserts all records using JDBC batches of {@code cadastro.batch.chunk-size} rows, one transaction per chunk.
+     * The returned list has one result per input record, in the same order. Like {@link #create}, it leaves the
+     * read cache alone.
+     */
+    public List<BatchItemResultDto> createAll(@NotNull List<@Valid @NotNull CadastroDto> cadastros) {
+        return executeInChunks("CREATE", cadastros, this::insertChunk, this::insertResults);
+    }
+
+    /**
+     * Updates all records (every column, matched by ID) using JDBC batches, one transaction per chunk.
+     */
+    @CacheEvict(allEntries = true)
+    public List<BatchItemResultDto> updateAll(@NotNull List<@Valid @NotNull CadastroDto> cadastros) {
+        return executeInChunks("UPDATE", cadastros, cadastroRepository::updateAll, this::updateResults);
+    }
+
+    /**
+     * Deletes all given IDs using JDBC batches, one transaction per chunk.
+     */
+    @CacheEvict(allEntries = true)
+    public List<BatchItemResultDto> deleteAll(@NotNull List<@NotNull Long> ids) {
+        return executeInChunks("DELETE", ids, cadastroRepository::deleteAll, this::deleteResults);
+    }
+
+    private int[] insertChunk(List<CadastroDto> chunk) {
+        cadastroRepository.insertAll(chunk);
+        int[] affectedRows = new int[chunk.size()];
+        Arrays.fill(affectedRows, 1);
+        return affectedRows;
+    }
+
+    private List<BatchItemResultDto> insertResults(List<CadastroDto> chunk, int[] affectedRows) {
+        List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
+        for (CadastroDto cadastro : chunk) {
+            results.add(new BatchItemResultDto("CREATE", cadastro.getId(), 201, "Recurso criado com sucesso"));
+        }
+        publish("CREATE", chunk.stream().map(CadastroDto::getId).toList(), chunk);
+        return results;
+    }
+
+    private List<BatchItemResultDto> updateResults(List<CadastroDto> chunk, int[] affectedRows) {
+        List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
+        List<Long> changedIds = new ArrayList<>(chunk.size());
+        List<CadastroDto> changed = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Long id = chunk.get(i).getId();
+            if (affectedRows[i] == 0) {
+                results.add(new BatchItemResultDto("UPDATE", id, 404, "Recurso não encontrado"));
+            } else {
+                results.add(new BatchItemResultDto("UPDATE", id, 200, "Recurso atualizado com sucesso"));
+                changedIds.add(id);
+                changed.add(chunk.get(i));
+            }
+        }
+        publish("UPDATE", changedIds, changed);
+        return results;
+    }
+
+    private List<BatchItemResultDto> deleteResults(List<Long> chunk, int[] affectedRows) {
+        List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
+        List<Long> deletedIds = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Long id = chunk.get(i);
+            if (affectedRows[i] == 0) {
+                results.add(new BatchItemResultDto("DELETE", id, 404, "Recurso não encontrado"));
+            } else {
+                results.add(new BatchItemResultDto("DELETE", id, 204, "Recurso removido com sucesso"));
+                deletedIds.add(id);
+            }
+        }
+        publish("DELETE", deletedIds, Collections.nCopies(deletedIds.size(), null));
+        return results;
+    }
+
+    /**
+     * Writes the change events to the outbox in the caller's transaction when the change feed is enabled, and hands
+     * them to the {@link CadastroChangeListener}s once that transaction commits.
+     * <p>
+     * Two transactions on the same record can run their commit callbacks in the opposite order of their commits,
+     * so the listeners do not get the states written here. Instead the records are re-read after the commit, one
+     * notification at a time: whichever runs last reads after both commits and leaves the listeners current.
+     */
+    private void publish(String operacao, List<Long> ids, List<CadastroDto> after) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        CadastroChangeFeed feed = changeFeed.getIfAvailable();
+        if (feed != null) {
+            feed.recordAll(operacao, ids, after);
+        }
+
+        List<CadastroChangeListener> listeners = changeListeners.orderedStream().toList();
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Runnable notify = () -> {
+            synchronized (listenerLock) {
+                List<CadastroDto> current;
+                try {
+                    current = currentStates(ids);
+                } catch (DataAccessException e) {
+                    // The write is committed; do not fail the caller over derived in-memory state.
+                    LOG.warn("Could not re-read {} changed records, listeners miss this change: {}", ids.size(),
+                            e.getMostSpecificCause().getMessage());
+                    return;
+                }
+                listeners.forEach(listener -> listener.onChange(operacao, ids, current));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notify.run();
+                }
+            });
+        } else {
+            notify.run();
+        }
+    }
+
+    /**
+     * The committed state of each ID, in the order of {@code ids}; {@code null} for records that no longer exist.
+     */
+    private List<CadastroDto> currentStates(List<Long> ids) {
+        Map<Long, CadastroDto> found = new HashMap<>();
+        for (CadastroDto cadastro : cadastroRepository.findAllById(ids)) {
+            found.put(cadastro.getId(), cadastro);
+        }
+        List<CadastroDto> current = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            current.add(found.get(id));
+        }
+        return current;
+    }
+
+    /**
+     * Writes the items chunk by chunk: {@code writer} stores a chunk and returns the affected rows per item, and
+     * {@code resultBuilder} turns them into per-item results and publishes the changes, in the chunk's transaction.
+     */
+    private <T> List<BatchItemResultDto> executeInChunks(String operacao, List<T> items,
+                                                         Function<List<T>, int[]> writer,
+                                                         BiFunction<List<T>, int[], List<BatchItemResultDto>> resultBuilder) {
+        List<BatchItemResultDto> results = new ArrayList<>(items.size());
+        for (int start = 0; start < items.size(); start += batchChunkSize) {
+            List<T> chunk = items.subList(start, Math.min(start + batchChunkSize, items.size()));
+            List<BatchItemResultDto> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> resultBuilder.apply(chunk, writer.apply(chunk)));
+            } catch (PartialWriteException e) {
+                // Sharded storage commits each shard on its own: keep what was committed, replay only the rest.
+                LOG.warn("{} batch chunk starting at index {} failed on {} of its {} items, retrying those one by one: {}",
+                        operacao, start, e.getFailedPositions().size(), chunk.size(), e.getMessage());
+                chunkResults = completePartialWrite(operacao, chunk, e, writer, resultBuilder);
+            } catch (DataAccessException e) {
+                // A single bad row rolls back the whole chunk; replay it row by row so only that row is reported.
+                LOG.warn("{} batch chunk starting at index {} failed, retrying its {} items one by one: {}",
+                        operacao, start, chunk.size(), e.getMessage());
+                chunkResults = new ArrayList<>(chunk.size());
+                for (T item : chunk) {
+                    chunkResults.add(executeSingle(operacao, item, writer, resultBuilder));
+                }
+            }
+            for (int i = 0; i < chunkResults.size(); i++) {
+                BatchItemResultDto result = chunkResults.get(i);
+                result.setIndex(start + i);
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Builds the results of the committed items of a partially written chunk (publishing their changes in a new
+     * transaction, as the chunk's one was rolled back) and replays the failed items one by one.
+     */
+    private <T> List<BatchItemResultDto> completePartialWrite(String operacao, List<T> chunk, PartialWriteException failure,
+                                                              Function<List<T>, int[]> writer,
+                                                              BiFunction<List<T>, int[], List<BatchItemResultDto>> resultBuilder) {
+        List<BatchItemResultDto> chunkResults = new ArrayList<>(Collections.nCopies(chunk.size(), null));
+        List<Integer> committed = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!failure.getFailedPositions().contains(i)) {
+                committed.add(i);
+            }
+        }
+        List<T> committedItems = committed.stream().map(chunk::get).toList();
+        int[] committedRows = committed.stream().mapToInt(i -> failure.getAffectedRows()[i]).toArray();
+        List<BatchItemResultDto> committedResults = transactionTemplate.execute(status -> resultBuilder.apply(committedItems, committedRows));
+        for (int i = 0; i < committed.size(); i++) {
+            chunkResults.set(committed.get(i), committedResults.get(i));
+        }
+        for (int position : failure.getFailedPositions()) {
+            chunkResults.set(position, executeSingle(operacao, chunk.get(position), writer, resultBuilder));
+        }
+        return chunkResults;
+    }
+
+    private <T> BatchItemResultDto executeSingle(String operacao, T item, Function<List<T>, int[]> writer,
+                                                 BiFunction<List<T>, int[], List<BatchItemResultDto>> resultBuilder) {
+        Long id = item instanceof Long itemId ? itemId : item instanceof CadastroDto cadastro ? cadastro.getId() : null;
+        List<T> single = List.of(item);
+        try {
+            return transactionTemplate.execute(status -> resultBuilder.apply(single, writer.apply(single))).get(0);
+        } catch (DataIntegrityViolationException e) {
+            return new BatchItemResultDto(operacao, id, 409, "Violação de integridade: " + e.getMostSpecificCause().getMessage());
+        } catch (DataAccessException e) {
+            return new BatchItemResultDto(operacao, id, 500, "Erro ao acessar o banco de dados: " + e.getMostSpecificCause().getMessage());
+        }
     }
 }
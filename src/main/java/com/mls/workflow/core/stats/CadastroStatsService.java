@@ -0,0 +1,184 @@
+package com.mls.workflow.core.stats;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroStatsDto;
+import com.mls.workflow.core.repository.CadastroRepository;
+import com.mls.workflow.core.service.CadastroChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Table statistics kept in memory ({@code cadastro.stats.enabled}): total, age histogram and e-mail domains.
+ * <p>
+ * The aggregates are seeded by one ordered scan once the application is ready and then moved by each committed
+ * change of {@link com.mls.workflow.core.service.CadastroService}. Counters are {@link LongAdder}s, so concurrent
+ * writers update separate cells instead of contending on one value, and a read only sums a few cells.
+ * To retract the old values of an updated or deleted record, the age range and domain each record currently
+ * contributes are remembered by ID; applying the same change twice is therefore harmless. The states come from
+ * re-reading the records after the commit (see {@link com.mls.workflow.core.service.CadastroChangeListener}), so
+ * changes delivered out of commit order still converge on the table. Domains that drop to zero are removed.
+ */
+@Service
+@ConditionalOnProperty(name = "cadastro.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class CadastroStatsService implements CadastroChangeListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroStatsService.class);
+
+    public static final int MAX_TOP_DOMAINS = 100;
+
+    private static final int AGE_RANGE_WIDTH = 10;
+    // 0-9 ... 90-99, then 100+.
+    private static final int AGE_RANGES = 11;
+
+    private final CadastroRepository cadastroRepository;
+    // Changes share the read side; seeding takes the write side so no change interleaves with the scan.
+    private final ReentrantReadWriteLock seedLock = new ReentrantReadWriteLock();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder[] ageRanges = new LongAdder[AGE_RANGES];
+    private final ConcurrentHashMap<String, LongAdder> domains = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Contribution> contributions = new ConcurrentHashMap<>();
+
+    public CadastroStatsService(CadastroRepository cadastroRepository) {
+        this.cadastroRepository = cadastroRepository;
+        for (int i = 0; i < AGE_RANGES; i++) {
+            ageRanges[i] = new LongAdder();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        seedLock.writeLock().lock();
+        try {
+            contributions.clear();
+            domains.clear();
+            total.reset();
+            for (LongAdder range : ageRanges) {
+                range.reset();
+            }
+            cadastroRepository.forEachOrdered(cadastro -> apply(cadastro.getId(), cadastro));
+            LOG.info("Cadastro statistics seeded from {} records in {} ms", total.sum(), (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            LOG.warn("Could not seed the cadastro statistics, they only reflect new changes: {}",
+                    e.getMostSpecificCause().getMessage());
+        } finally {
+            seedLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(String operacao, List<Long> ids, List<CadastroDto> after) {
+        seedLock.readLock().lock();
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                apply(ids.get(i), after.get(i));
+            }
+        } finally {
+            seedLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Current aggregates with the {@code top} most frequent domains. Costs a sum over the counter cells and one
+     * pass over the distinct domains, independent of the number of records.
+     */
+    public CadastroStatsDto snapshot(int top) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < AGE_RANGES; i++) {
+            histogram.put(rangeLabel(i), ageRanges[i].sum());
+        }
+
+        Comparator<CadastroStatsDto.DominioDto> byTotal = Comparator
+                .comparingLong(CadastroStatsDto.DominioDto::getTotal)
+                .thenComparing(CadastroStatsDto.DominioDto::getDominio, Comparator.reverseOrder());
+        PriorityQueue<CadastroStatsDto.DominioDto> best = new PriorityQueue<>(top + 1, byTotal);
+        domains.forEach((domain, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                best.add(new CadastroStatsDto.DominioDto(domain, sum));
+                if (best.size() > top) {
+                    best.poll();
+                }
+            }
+        });
+        List<CadastroStatsDto.DominioDto> topDomains = new ArrayList<>(best);
+        topDomains.sort(byTotal.reversed());
+
+        return new CadastroStatsDto(total.sum(), histogram, topDomains);
+    }
+
+    /**
+     * Number of domain buckets held, live or not; for tests.
+     */
+    int domainCount() {
+        return domains.size();
+    }
+
+    private void apply(long id, CadastroDto after) {
+        Contribution next = after == null ? null : new Contribution(rangeOf(after.getIdade()), domainOf(after.getEmail()));
+        contributions.compute(id, (key, previous) -> {
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (next != null) {
+                add(next, 1);
+            }
+            return next;
+        });
+    }
+
+    private void add(Contribution contribution, int delta) {
+        total.add(delta);
+        ageRanges[contribution.ageRange].add(delta);
+        // Atomic per domain, so a bucket that drops to zero is removed without losing a concurrent increment.
+        domains.compute(contribution.domain, (domain, count) -> {
+            LongAdder updated = count == null ? new LongAdder() : count;
+            updated.add(delta);
+            return updated.sum() == 0 ? null : updated;
+        });
+    }
+
+    private static int rangeOf(Integer idade) {
+        int age = idade == null ? 0 : Math.max(idade, 0);
+        return Math.min(age / AGE_RANGE_WIDTH, AGE_RANGES - 1);
+    }
+
+    private static String rangeLabel(int range) {
+        int from = range * AGE_RANGE_WIDTH;
+        return range == AGE_RANGES - 1 ? from + "+" : from + "-" + (from + AGE_RANGE_WIDTH - 1);
+    }
+
+    private static String domainOf(String email) {
+        if (email == null) {
+            return "";
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        return normalized.substring(normalized.lastIndexOf('@') + 1);
+    }
+
+    private static final class Contribution {
+        private final int ageRange;
+        private final String domain;
+
+        private Contribution(int ageRange, String domain) {
+            this.ageRange = ageRange;
+            this.domain = domain;
+        }
+    }
+}
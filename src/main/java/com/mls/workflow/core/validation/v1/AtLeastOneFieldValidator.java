@@ -4,8 +4,6 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.BeanWrapperImpl;
 
-import java.util.Objects;
-
 public class AtLeastOneFieldValidator implements ConstraintValidator<AtLeastOneField, Object> {
 
     private String[] fields;
@@ -24,16 +22,10 @@ public class AtLeastOneFieldValidator implements ConstraintValidator<AtLeastOneF
         BeanWrapperImpl beanWrapper = new BeanWrapperImpl(value);
 
         for (String fieldName : fields) {
-            Object fieldValue = beanWrapper.getPropertyValue(fieldName);
-            if (fieldValue != null) {
-                // For strings, we might want to check if they are not blank
-                if (fieldValue instanceof String && !((String) fieldValue).isBlank()) {
-                    return true;
-                }
-                // For other types, just being not-null is enough
-                if (!(fieldValue instanceof String)) {
-                    return true;
-                }
+            // A present but blank string counts as provided: the field's own constraint reports it as blank,
+            // so the request gets one violation naming the field instead of two.
+            if (beanWrapper.getPropertyValue(fieldName) != null) {
+                return true;
             }
         }
 
@@ -0,0 +1,38 @@
+package com.mls.workflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Handling of one {@code /api/v1/cadastro} request, from the handler call until the response is complete.
+ */
+@Name("com.mls.workflow.ApiRequest")
+@Label("Cadastro API Request")
+@Description("Handling of a /api/v1/cadastro request")
+@Category({"AIC7Demo", "Cadastro"})
+@StackTrace(false)
+public class ApiRequestEvent extends Event {
+
+    @Label("Operation")
+    @Description("Controller method handling the request")
+    String operation;
+
+    @Label("HTTP Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Process Instance ID")
+    String processInstanceId;
+
+    @Label("Business Key")
+    String businessKey;
+}
@@ -0,0 +1,48 @@
+package com.mls.workflow.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records each request of the cadastro API as an {@link ApiRequestEvent}, with the process instance it started
+ * taken from the {@link PipelineContext}.
+ */
+public class ApiRequestInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = ApiRequestInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        PipelineContext.clear();
+        ApiRequestEvent event = new ApiRequestEvent();
+        event.begin();
+        request.setAttribute(EVENT_ATTRIBUTE, event);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        PipelineContext context = PipelineContext.current();
+        PipelineContext.clear();
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof ApiRequestEvent event)) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = handler instanceof HandlerMethod method ? method.getMethod().getName() : null;
+            event.method = request.getMethod();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.path = pattern != null ? pattern.toString() : request.getRequestURI();
+            event.status = response.getStatus();
+            if (context != null) {
+                event.processInstanceId = context.processInstanceId();
+                event.businessKey = context.businessKey();
+            }
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mls.workflow.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Continuous in-process flight recording ({@code cadastro.jfr.recording.enabled}) with the JDK's {@code default}
+ * settings plus the cadastro events of {@link #SETTINGS}, kept for {@code max-age}/{@code max-size} and dumped to
+ * {@code destination} when the application stops.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cadastro.jfr.recording", name = "enabled", havingValue = "true")
+public class CadastroFlightRecording {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CadastroFlightRecording.class);
+
+    /** Settings of the cadastro events; also usable on its own with -XX:StartFlightRecording or jcmd JFR.start. */
+    public static final String SETTINGS = "jfr/cadastro.jfc";
+
+    private final Path destination;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    private Recording recording;
+
+    public CadastroFlightRecording(@Value("${cadastro.jfr.recording.destination:./cadastro.jfr}") Path destination,
+                                   @Value("${cadastro.jfr.recording.max-age:1h}") Duration maxAge,
+                                   @Value("${cadastro.jfr.recording.max-size:250MB}") DataSize maxSize) {
+        this.destination = destination;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    void start() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+
+        recording = new Recording(settings);
+        recording.setName("cadastro");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDumpOnExit(true);
+        recording.setDestination(destination);
+        recording.start();
+        LOG.info("Flight recording started, dumped to {} on shutdown", destination.toAbsolutePath());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            // With a destination set, stopping writes the recording there.
+            recording.stop();
+            recording.close();
+        }
+    }
+}
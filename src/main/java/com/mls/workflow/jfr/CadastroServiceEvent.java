@@ -0,0 +1,36 @@
+package com.mls.workflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code CadastroService} call, i.e. the statements it sends to the record storage, with the process instance
+ * it was made for (empty for calls outside a process, such as the read fast path or exports).
+ */
+@Name("com.mls.workflow.CadastroServiceCall")
+@Label("Cadastro Service Call")
+@Description("CadastroService call and the storage statements it runs")
+@Category({"AIC7Demo", "Cadastro"})
+@StackTrace(false)
+public class CadastroServiceEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Process Instance ID")
+    String processInstanceId;
+
+    @Label("Business Key")
+    String businessKey;
+
+    @Label("Operation")
+    @Description("The process's tarefa (CREATE, READ, UPDATE, DELETE, UPSERT)")
+    String operation;
+
+    @Label("Failed")
+    boolean failed;
+}
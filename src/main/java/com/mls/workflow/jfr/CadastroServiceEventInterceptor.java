@@ -0,0 +1,35 @@
+package com.mls.workflow.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Records each {@code CadastroService} call as a {@link CadastroServiceEvent}.
+ */
+public class CadastroServiceEventInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CadastroServiceEvent event = new CadastroServiceEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = invocation.getMethod().getName();
+                event.failed = failed;
+                PipelineContext context = PipelineContext.current();
+                if (context != null) {
+                    event.processInstanceId = context.processInstanceId();
+                    event.businessKey = context.businessKey();
+                    event.operation = context.operation();
+                }
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mls.workflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code JavaDelegate.execute} call, recorded by {@link FlightRecorderDelegateInterceptor}.
+ */
+@Name("com.mls.workflow.DelegateExecution")
+@Label("Delegate Execution")
+@Description("Execution of a JavaDelegate of a BPMN service task")
+@Category({"AIC7Demo", "Camunda"})
+@StackTrace(false)
+public class DelegateExecutionEvent extends Event {
+
+    @Label("Delegate")
+    String delegate;
+
+    @Label("Activity ID")
+    String activityId;
+
+    @Label("Process Instance ID")
+    String processInstanceId;
+
+    @Label("Business Key")
+    String businessKey;
+
+    @Label("Operation")
+    @Description("The process's tarefa (CREATE, READ, UPDATE, DELETE, UPSERT)")
+    String operation;
+}
@@ -0,0 +1,76 @@
+package com.mls.workflow.jfr;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.bpmn.delegate.JavaDelegateInvocation;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
+import org.camunda.bpm.model.bpmn.instance.FlowElement;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+
+/**
+ * Wraps the engine's delegate interceptor: every {@link JavaDelegate} call is recorded as a
+ * {@link DelegateExecutionEvent} and runs with its process instance as the {@link PipelineContext}. Other invocations
+ * (listeners, expressions) are passed through untouched.
+ */
+public class FlightRecorderDelegateInterceptor implements DelegateInterceptor {
+
+    private final DelegateInterceptor delegate;
+
+    public FlightRecorderDelegateInterceptor(DelegateInterceptor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void handleInvocation(DelegateInvocation invocation) throws Exception {
+        if (!(invocation instanceof JavaDelegateInvocation)
+                || !(invocation.getContextExecution() instanceof DelegateExecution execution)) {
+            delegate.handleInvocation(invocation);
+            return;
+        }
+
+        Object tarefa = execution.getVariable("tarefa");
+        String operation = tarefa != null ? tarefa.toString() : null;
+        PipelineContext previous = PipelineContext.enter(
+                execution.getProcessInstanceId(), execution.getProcessBusinessKey(), operation);
+        DelegateExecutionEvent event = new DelegateExecutionEvent();
+        event.begin();
+        try {
+            delegate.handleInvocation(invocation);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.delegate = delegateName(execution);
+                event.activityId = execution.getCurrentActivityId();
+                event.processInstanceId = execution.getProcessInstanceId();
+                event.businessKey = execution.getProcessBusinessKey();
+                // IdentificarTarefaDelegate sets the tarefa, so it is only known afterwards for that delegate.
+                Object tarefaAfter = execution.getVariable("tarefa");
+                event.operation = tarefaAfter != null ? tarefaAfter.toString() : null;
+                event.commit();
+            }
+            PipelineContext.restore(previous);
+        }
+    }
+
+    /**
+     * The delegate as configured on the service task: the bean name of {@code camunda:delegateExpression="${bean}"}
+     * or the simple name of {@code camunda:class}, falling back to the activity ID.
+     */
+    static String delegateName(DelegateExecution execution) {
+        FlowElement element = execution.getBpmnModelElementInstance();
+        if (element instanceof ServiceTask task) {
+            String expression = task.getCamundaDelegateExpression();
+            if (expression != null) {
+                return expression.startsWith("${") && expression.endsWith("}")
+                        ? expression.substring(2, expression.length() - 1)
+                        : expression;
+            }
+            String className = task.getCamundaClass();
+            if (className != null) {
+                return className.substring(className.lastIndexOf('.') + 1);
+            }
+        }
+        return execution.getCurrentActivityId();
+    }
+}
@@ -0,0 +1,21 @@
+package com.mls.workflow.jfr;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Engine plugin installing {@link FlightRecorderDelegateInterceptor} around the engine's delegate interceptor.
+ */
+@Component
+public class FlightRecorderPlugin extends AbstractProcessEnginePlugin {
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        configuration.setDelegateInterceptor(new FlightRecorderDelegateInterceptor(
+                configuration.getDelegateInterceptor() != null
+                        ? configuration.getDelegateInterceptor()
+                        : new DefaultDelegateInterceptor()));
+    }
+}
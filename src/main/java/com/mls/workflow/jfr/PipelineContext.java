@@ -0,0 +1,38 @@
+package com.mls.workflow.jfr;
+
+/**
+ * Process instance the current thread is working for, copied into the flight recorder events it commits.
+ * <p>
+ * Set by {@link FlightRecorderDelegateInterceptor} around each delegate (so {@link CadastroServiceEvent}s know their
+ * instance) and by {@link ProcessStartEvent#record} once an instance has been started (so the enclosing
+ * {@link ApiRequestEvent} knows it). The request interceptor clears it when a request completes.
+ */
+public record PipelineContext(String processInstanceId, String businessKey, String operation) {
+
+    private static final ThreadLocal<PipelineContext> CURRENT = new ThreadLocal<>();
+
+    public static PipelineContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Replaces the context of the current thread and returns the previous one, to be restored with {@link #restore}.
+     */
+    public static PipelineContext enter(String processInstanceId, String businessKey, String operation) {
+        PipelineContext previous = CURRENT.get();
+        CURRENT.set(new PipelineContext(processInstanceId, businessKey, operation));
+        return previous;
+    }
+
+    public static void restore(PipelineContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mls.workflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstanceWithVariables;
+
+import java.util.function.Supplier;
+
+/**
+ * One process instance start call. The CRUD process runs to its end inside the call, so the duration covers the
+ * delegates and the engine's flush; for the respond-async variant it only covers inserting the instance and its job.
+ */
+@Name("com.mls.workflow.ProcessStart")
+@Label("Process Instance Start")
+@Description("Start of a process instance by the cadastro API")
+@Category({"AIC7Demo", "Camunda"})
+@StackTrace(false)
+public class ProcessStartEvent extends Event {
+
+    @Label("Process Definition Key")
+    String processDefinitionKey;
+
+    @Label("Process Instance ID")
+    String processInstanceId;
+
+    @Label("Business Key")
+    String businessKey;
+
+    @Label("Operation")
+    @Description("The process's tarefa (CREATE, READ, UPDATE, DELETE, UPSERT)")
+    String operation;
+
+    /**
+     * Runs {@code start}, records it as an event and makes the started instance the current {@link PipelineContext}.
+     */
+    public static <T extends ProcessInstance> T record(String processDefinitionKey, String businessKey, Supplier<T> start) {
+        ProcessStartEvent event = new ProcessStartEvent();
+        event.begin();
+        T instance = start.get();
+        event.end();
+
+        String operation = null;
+        if (instance instanceof ProcessInstanceWithVariables withVariables && withVariables.getVariables() != null) {
+            Object tarefa = withVariables.getVariables().get("tarefa");
+            operation = tarefa != null ? tarefa.toString() : null;
+        }
+        PipelineContext.enter(instance.getId(), businessKey, operation);
+
+        if (event.shouldCommit()) {
+            event.processDefinitionKey = processDefinitionKey;
+            event.processInstanceId = instance.getId();
+            event.businessKey = businessKey;
+            event.operation = operation;
+            event.commit();
+        }
+        return instance;
+    }
+}
@@ -2,5 +2,21 @@ CREATE TABLE IF NOT EXISTS AIC_CADASTRO (
     ID BIGINT AUTO_INCREMENT PRIMARY KEY,
     NOME VARCHAR(255) NOT NULL,
     EMAIL VARCHAR(255) NOT NULL,
-    IDADE INT
+    IDADE INT,
+    EMAIL_NORM VARCHAR(255) GENERATED ALWAYS AS (LOWER(TRIM(EMAIL))),
+    DELETED_AT TIMESTAMP,
+    EMAIL_LIVE VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN DELETED_AT IS NULL THEN LOWER(TRIM(EMAIL)) END)
+);
+CREATE INDEX IF NOT EXISTS IDX_AIC_CADASTRO_EMAIL_NORM ON AIC_CADASTRO (EMAIL_NORM);
+CREATE INDEX IF NOT EXISTS IDX_AIC_CADASTRO_DELETED_AT ON AIC_CADASTRO (DELETED_AT);
+-- With cadastro.email.unique=true, DatabaseInitializerConfig also creates:
+-- CREATE UNIQUE INDEX IF NOT EXISTS UK_AIC_CADASTRO_EMAIL_LIVE ON AIC_CADASTRO (EMAIL_LIVE);
+CREATE TABLE IF NOT EXISTS AIC_CADASTRO_OUTBOX (
+    SEQ BIGINT AUTO_INCREMENT PRIMARY KEY,
+    OPERACAO VARCHAR(16) NOT NULL,
+    CADASTRO_ID BIGINT NOT NULL,
+    NOME VARCHAR(255),
+    EMAIL VARCHAR(255),
+    IDADE INT,
+    CREATED_AT TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
 );
\ No newline at end of file
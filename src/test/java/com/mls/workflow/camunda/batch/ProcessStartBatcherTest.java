@@ -0,0 +1,152 @@
+package com.mls.workflow.camunda.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstanceWithVariables;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessStartBatcherTest {
+
+    private final RuntimeService runtimeService = mock(RuntimeService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+    private final Semaphore engine = new Semaphore(0);
+    private final CountDownLatch hanging = new CountDownLatch(1);
+    private ProcessStartBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        engine.release(100);
+        callers.shutdownNow();
+        batcher.stop();
+    }
+
+    @Test
+    void submit_shouldStartConcurrentRequestsInOneTransaction() throws Exception {
+        stubProcessStart();
+        batcher = newBatcher(4, Duration.ofSeconds(5));
+
+        List<Future<VariableMap>> results = submitConcurrently("a", "b", "c", "d");
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS).getValue("result", String.class))
+                    .isEqualTo(String.valueOf((char) ('a' + i)));
+        }
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void submit_shouldIsolateTheFailingRequestOfABatch() throws Exception {
+        stubProcessStart();
+        batcher = newBatcher(3, Duration.ofSeconds(5));
+
+        List<Future<VariableMap>> results = submitConcurrently("ok-1", "fail", "ok-2");
+
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS).getValue("result", String.class)).isEqualTo("ok-1");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS).getValue("result", String.class)).isEqualTo("ok-2");
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        // One shared attempt, then one transaction per request.
+        verify(transactionManager, times(4)).getTransaction(any());
+    }
+
+    @Test
+    void submit_shouldGiveUpWhenTheEngineHangs() throws Exception {
+        stubProcessStart();
+        batcher = newBatcher(1, Duration.ofMillis(1), Duration.ofSeconds(1));
+
+        Future<VariableMap> inFlight = callers.submit(() -> batcher.submit("process", "hang", Variables.createVariables()));
+        assertThat(hanging.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<VariableMap> queued = callers.submit(() -> batcher.submit("process", "a", Variables.createVariables()));
+
+        assertThatThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("outcome is unknown");
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void stop_shouldFailRequestsOfAnUnfinishedBatch() throws Exception {
+        stubProcessStart();
+        batcher = newBatcher(1, Duration.ofMillis(1), Duration.ofMinutes(5));
+
+        Future<VariableMap> inFlight = callers.submit(() -> batcher.submit("process", "hang", Variables.createVariables()));
+        assertThat(hanging.await(5, TimeUnit.SECONDS)).isTrue();
+        batcher.stop();
+
+        assertThatThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private ProcessStartBatcher newBatcher(int maxSize, Duration maxWait) {
+        return newBatcher(maxSize, maxWait, Duration.ofSeconds(30));
+    }
+
+    private ProcessStartBatcher newBatcher(int maxSize, Duration maxWait, Duration startTimeout) {
+        ProcessStartBatcher newBatcher = new ProcessStartBatcher(runtimeService, transactionManager,
+                new SimpleMeterRegistry(), maxSize, maxWait, 100, startTimeout);
+        newBatcher.start();
+        return newBatcher;
+    }
+
+    private List<Future<VariableMap>> submitConcurrently(String... businessKeys) {
+        List<Future<VariableMap>> results = new ArrayList<>();
+        for (String businessKey : businessKeys) {
+            results.add(callers.submit(() -> batcher.submit("process", businessKey, Variables.createVariables())));
+        }
+        return results;
+    }
+
+    private void stubProcessStart() {
+        when(runtimeService.createProcessInstanceByKey(anyString())).thenAnswer(invocation -> {
+            AtomicReference<String> businessKey = new AtomicReference<>();
+            ProcessInstantiationBuilder builder = mock(ProcessInstantiationBuilder.class, RETURNS_SELF);
+            when(builder.businessKey(anyString())).thenAnswer(call -> {
+                businessKey.set(call.getArgument(0));
+                return builder;
+            });
+            when(builder.executeWithVariablesInReturn()).thenAnswer(call -> {
+                if ("hang".equals(businessKey.get())) {
+                    // Ignores interrupts, like an engine call stuck on a database lock.
+                    hanging.countDown();
+                    engine.acquireUninterruptibly();
+                }
+                if ("fail".equals(businessKey.get())) {
+                    throw new IllegalArgumentException("invalid payload");
+                }
+                ProcessInstanceWithVariables instance = mock(ProcessInstanceWithVariables.class);
+                when(instance.getVariables()).thenReturn(Variables.createVariables().putValue("result", businessKey.get()));
+                return instance;
+            });
+            return builder;
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.mls.workflow.camunda.cluster;
+
+import com.mls.workflow.Application;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the cluster profile with two nodes in this JVM against one H2 TCP server and drives CREATE requests through
+ * one node, then through both. Asserts that every request succeeds and that both nodes see every row; the
+ * throughput of each phase is logged, not asserted, since both nodes share the machine and the database.
+ * <p>
+ * Not part of the default test run: {@code mvn -B test -Dtest=ClusterThroughputIT}.
+ */
+class ClusterThroughputIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterThroughputIT.class);
+
+    private static final int REQUESTS_PER_PHASE = 400;
+    private static final int CLIENT_THREADS = 16;
+
+    @TempDir
+    static Path baseDir;
+
+    private static Server h2Server;
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static final List<URI> nodeUris = new ArrayList<>();
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        int h2Port = freePort();
+        h2Server = Server.createTcpServer("-tcpPort", String.valueOf(h2Port), "-baseDir", baseDir.toString(), "-ifNotExists")
+                .start();
+        // The schema owner has to be up before the other nodes check the schema.
+        for (int i = 0; i < 2; i++) {
+            // Command-line args, so they win over application.yaml and application-cluster.yaml.
+            ConfigurableApplicationContext node = new SpringApplicationBuilder(Application.class)
+                    .profiles("cluster")
+                    .run(
+                            "--server.port=0",
+                            "--camunda.bpm.process-engine-name=node" + i,
+                            "--camunda.bpm.webapp.enabled=false",
+                            "--cadastro.cluster.node-id=node" + i,
+                            "--cadastro.cluster.schema-owner=" + (i == 0),
+                            "--cadastro.cluster.h2-server.port=" + h2Port);
+            nodes.add(node);
+            int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+            nodeUris.add(URI.create("http://localhost:" + port + "/api/v1/cadastro"));
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        if (h2Server != null) {
+            h2Server.stop();
+        }
+    }
+
+    @Test
+    void createRequests_shouldSucceedOnEveryNodeAndBeVisibleClusterWide() throws Exception {
+        long countBefore = count(nodeUris.get(1));
+
+        double singleNode = runPhase(nodeUris.subList(0, 1));
+        double twoNodes = runPhase(nodeUris);
+        LOG.info("Cluster throughput: 1 node {} req/s, 2 nodes {} req/s ({} requests per phase)",
+                String.format("%.0f", singleNode), String.format("%.0f", twoNodes), REQUESTS_PER_PHASE);
+
+        assertThat(count(nodeUris.get(0))).isEqualTo(countBefore + 2L * REQUESTS_PER_PHASE);
+        assertThat(count(nodeUris.get(1))).isEqualTo(countBefore + 2L * REQUESTS_PER_PHASE);
+    }
+
+    /**
+     * Sends {@link #REQUESTS_PER_PHASE} CREATE requests round-robin over {@code targets} and returns requests per second.
+     */
+    private double runPhase(List<URI> targets) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            List<Callable<Integer>> requests = new ArrayList<>();
+            for (int i = 0; i < REQUESTS_PER_PHASE; i++) {
+                URI target = targets.get(i % targets.size());
+                requests.add(() -> create(target));
+            }
+            long start = System.nanoTime();
+            List<Future<Integer>> statuses = clients.invokeAll(requests);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get()).isEqualTo(201);
+            }
+            return REQUESTS_PER_PHASE / seconds;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private int create(URI target) throws IOException, InterruptedException {
+        int n = sequence.incrementAndGet();
+        String body = "{\"nome\":\"Cluster " + n + "\",\"email\":\"cluster" + n + "@example.com\",\"idade\":30}";
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private long count(URI node) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + "/count")).GET().build();
+        return Long.parseLong(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body().trim());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.mls.workflow.camunda.delegate;
 
 import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.variable.value.TypedValue;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
 
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class IdentificarTarefaDelegateTest {
@@ -27,10 +31,10 @@ class IdentificarTarefaDelegateTest {
         var delegate = new IdentificarTarefaDelegate();
         delegate.execute(exec);
 
-        // Verify that all variables from the map are set
-        verify(exec).setVariable("tarefa", "CREATE");
-        verify(exec).setVariable("id", 1L);
-        verify(exec).setVariable("payload", Map.of("nome", "Test"));
+        // Verify that all variables from the map are set as transient variables
+        verify(exec).setVariable(eq("tarefa"), transientValue("CREATE"));
+        verify(exec).setVariable(eq("id"), transientValue(1L));
+        verify(exec).setVariable(eq("payload"), transientValue(Map.of("nome", "Test")));
     }
 
     @Test
@@ -43,7 +47,13 @@ class IdentificarTarefaDelegateTest {
         var delegate = new IdentificarTarefaDelegate();
         delegate.execute(exec);
 
-        verify(exec).setVariable("statusCode", 500);
-        verify(exec).setVariable("message", "Erro interno: Mapa de variáveis do processo não encontrado.");
+        verify(exec).setVariable(eq("statusCode"), transientValue(500));
+        verify(exec).setVariable(eq("message"), transientValue("Erro interno: Mapa de variáveis do processo não encontrado."));
     }
-}
\ No newline at end of file
+
+    private static Object transientValue(Object expected) {
+        return argThat(value -> value instanceof TypedValue typed
+                && typed.isTransient()
+                && Objects.equals(expected, typed.getValue()));
+    }
+}
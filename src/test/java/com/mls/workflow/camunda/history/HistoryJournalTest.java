@@ -0,0 +1,128 @@
+package com.mls.workflow.camunda.history;
+
+import com.mls.workflow.camunda.history.HistoryJournal.Batch;
+import com.mls.workflow.camunda.history.HistoryJournal.Position;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_shouldReturnAppendedEventsAcrossSegments() throws IOException {
+        HistoryJournal journal = new HistoryJournal(directory, 2048, false);
+        journal.open();
+        for (int i = 0; i < 20; i++) {
+            journal.append(List.of(List.of(activity("act-" + i, HistoryEventTypes.ACTIVITY_INSTANCE_START))));
+        }
+
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        List<String> ids = new ArrayList<>();
+        Position position = Position.START;
+        Batch batch;
+        while (!(batch = journal.read(position, 3)).next().equals(position)) {
+            batch.events().forEach(event -> ids.add(event.getId()));
+            position = batch.next();
+        }
+        assertThat(ids).hasSize(20).startsWith("act-0", "act-1").endsWith("act-19");
+        assertThat(position).isEqualTo(journal.end());
+
+        journal.deleteSegmentsBefore(position);
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(journal.read(position, 100).events()).isEmpty();
+        journal.close();
+    }
+
+    @Test
+    void open_shouldCutOffATornTail() throws IOException {
+        HistoryJournal journal = new HistoryJournal(directory, 1 << 20, false);
+        journal.open();
+        journal.append(List.of(List.of(activity("a", HistoryEventTypes.ACTIVITY_INSTANCE_START)),
+                List.of(activity("b", HistoryEventTypes.ACTIVITY_INSTANCE_START))));
+        Position intact = journal.end();
+        journal.close();
+
+        Path segment = segmentFiles().get(0);
+        Files.write(segment, new byte[]{0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+
+        HistoryJournal reopened = new HistoryJournal(directory, 1 << 20, false);
+        reopened.open();
+        assertThat(reopened.end()).isEqualTo(intact);
+        assertThat(Files.size(segment)).isEqualTo(intact.offset());
+
+        reopened.append(List.of(List.of(activity("c", HistoryEventTypes.ACTIVITY_INSTANCE_START))));
+        assertThat(reopened.read(Position.START, 100).events())
+                .extracting(HistoryEvent::getId)
+                .containsExactly("a", "b", "c");
+        reopened.close();
+    }
+
+    @Test
+    void compact_shouldWriteTheFinalStateOfEachRowInPlaceOfItsStart() {
+        Date start = new Date(1_000);
+        Date end = new Date(1_250);
+        Date removal = new Date(9_000);
+
+        HistoricProcessInstanceEventEntity processStart = process(HistoryEventTypes.PROCESS_INSTANCE_START);
+        processStart.setStartTime(start);
+        HistoricActivityInstanceEventEntity activityStart = activity("act", HistoryEventTypes.ACTIVITY_INSTANCE_START);
+        activityStart.setStartTime(start);
+        HistoricActivityInstanceEventEntity activityEnd = activity("act", HistoryEventTypes.ACTIVITY_INSTANCE_END);
+        activityEnd.setEndTime(end);
+        HistoricProcessInstanceEventEntity processEnd = process(HistoryEventTypes.PROCESS_INSTANCE_END);
+        processEnd.setEndTime(end);
+        processEnd.setRemovalTime(removal);
+
+        List<HistoryEvent> compacted = HistoryJournalFlusher.compact(List.of(processStart, activityStart, activityEnd, processEnd));
+
+        assertThat(compacted).containsExactly(processEnd, activityEnd);
+        assertThat(processEnd.getEventType()).isEqualTo(HistoryEventTypes.PROCESS_INSTANCE_START.getEventName());
+        assertThat(processEnd.getStartTime()).isEqualTo(start);
+        assertThat(activityEnd.getEventType()).isEqualTo(HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName());
+        assertThat(activityEnd.getDurationInMillis()).isEqualTo(250L);
+        assertThat(activityEnd.getRemovalTime()).isEqualTo(removal);
+    }
+
+    private static HistoricActivityInstanceEventEntity activity(String id, HistoryEventTypes type) {
+        HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+        event.setId(id);
+        event.setEventType(type.getEventName());
+        event.setActivityId("IdentificarTarefa");
+        event.setProcessInstanceId("pi-1");
+        event.setRootProcessInstanceId("pi-1");
+        return event;
+    }
+
+    private static HistoricProcessInstanceEventEntity process(HistoryEventTypes type) {
+        HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+        event.setId("pi-1");
+        event.setEventType(type.getEventName());
+        event.setProcessInstanceId("pi-1");
+        event.setRootProcessInstanceId("pi-1");
+        return event;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
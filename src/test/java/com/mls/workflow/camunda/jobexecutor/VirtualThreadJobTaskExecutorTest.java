@@ -0,0 +1,91 @@
+package com.mls.workflow.camunda.jobexecutor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadJobTaskExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HikariDataSource dataSource = new HikariDataSource();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private VirtualThreadJobTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        executor.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    void execute_shouldRunAtMostPoolSizeMinusReservedBatchesOnVirtualThreads() throws Exception {
+        dataSource.setMaximumPoolSize(5);
+        executor = new VirtualThreadJobTaskExecutor(dataSource, meterRegistry, 0, 2, 100);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                if (Thread.currentThread().isVirtual()) {
+                    threadNames.add(Thread.currentThread().getName());
+                }
+                awaitRelease();
+                done.countDown();
+            });
+        }
+
+        awaitGauge("cadastro.jobs.active", 3);
+        assertThat(executor.getMaxConcurrency()).isEqualTo(3);
+        assertThat(gauge("cadastro.jobs.queued")).isEqualTo(7);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threadNames).hasSize(10).allMatch(name -> name.startsWith(VirtualThreadJobTaskExecutor.THREAD_NAME_PREFIX));
+        assertThat(meterRegistry.get("cadastro.jobs.execution").timer().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("cadastro.jobs.wait").timer().count()).isEqualTo(10);
+    }
+
+    @Test
+    void execute_shouldRejectBatchesBeyondTheQueueCapacity() throws Exception {
+        executor = new VirtualThreadJobTaskExecutor(dataSource, meterRegistry, 1, 2, 2);
+        executor.execute(this::awaitRelease);
+        awaitGauge("cadastro.jobs.active", 1);
+
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(gauge("cadastro.jobs.queued")).isEqualTo(2);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge(name) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(gauge(name)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,57 @@
+package com.mls.workflow.camunda.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessTimingsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProcessTimings timings = new ProcessTimings(meterRegistry);
+
+    @Test
+    void activityListener_shouldTimeEachActivityByActivityAndTarefa() throws Exception {
+        DelegateExecution execution = execution("IdentificarTarefaTask", null);
+        when(execution.getEventName()).thenReturn(ExecutionListener.EVENTNAME_START);
+        timings.activityListener().notify(execution);
+
+        when(execution.getEventName()).thenReturn(ExecutionListener.EVENTNAME_END);
+        when(execution.getVariable("tarefa")).thenReturn("CREATE");
+        timings.activityListener().notify(execution);
+        // An end without a matching start is not recorded.
+        timings.activityListener().notify(execution);
+
+        Timer timer = meterRegistry.get("cadastro.process.activity")
+                .tag("activity", "IdentificarTarefaTask")
+                .tag("tarefa", "CREATE")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void processListener_shouldTimeTheInstanceAndBucketUnknownTarefas() throws Exception {
+        DelegateExecution execution = execution(null, "DROP TABLE");
+        when(execution.getEventName()).thenReturn(ExecutionListener.EVENTNAME_START);
+        timings.processListener().notify(execution);
+        when(execution.getEventName()).thenReturn(ExecutionListener.EVENTNAME_END);
+        timings.processListener().notify(execution);
+
+        assertThat(meterRegistry.get("cadastro.process.duration").tag("tarefa", "other").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("cadastro.process.duration").tag("tarefa", "DROP TABLE").timer()).isNull();
+    }
+
+    private static DelegateExecution execution(String activityId, Object tarefa) {
+        DelegateExecution execution = mock(DelegateExecution.class);
+        when(execution.getId()).thenReturn("exec-1");
+        when(execution.getProcessInstanceId()).thenReturn("pi-1");
+        when(execution.getCurrentActivityId()).thenReturn(activityId);
+        when(execution.getVariable("tarefa")).thenReturn(tarefa);
+        return execution;
+    }
+}
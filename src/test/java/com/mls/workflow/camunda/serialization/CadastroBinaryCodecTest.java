@@ -0,0 +1,90 @@
+package com.mls.workflow.camunda.serialization;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CreateRequestDto;
+import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CadastroBinaryCodecTest {
+
+    @Test
+    void decode_shouldRestoreProcessVariablesWithTheirPayloads() throws IOException {
+        CreateRequestDto create = new CreateRequestDto();
+        create.setNome("Ana Lúcia");
+        create.setEmail("ana@example.com");
+        create.setIdade(22);
+        UpdateRequestDto update = new UpdateRequestDto();
+        update.setEmail("novo@example.com");
+
+        Map<String, Object> processVariables = new HashMap<>();
+        processVariables.put("tarefa", "UPDATE");
+        processVariables.put("id", -7L);
+        processVariables.put("payload", create);
+        processVariables.put("patch", update);
+        processVariables.put("raw", new LinkedHashMap<>(Map.of("nome", "Ana", "idade", 22, "tags", new ArrayList<>(List.of("a", true, 1.5)))));
+        processVariables.put("missing", null);
+
+        assertThat(CadastroBinaryCodec.canEncode(processVariables)).isTrue();
+        Object decoded = CadastroBinaryCodec.decode(CadastroBinaryCodec.encode(processVariables));
+
+        assertThat(decoded).isEqualTo(processVariables);
+        assertThat(decoded).isInstanceOf(CadastroBinaryCodec.decodedType(processVariables));
+    }
+
+    @Test
+    void encode_shouldBeMuchSmallerThanJavaSerialization() throws IOException {
+        CadastroDto cadastro = new CadastroDto(123456L, "Jane Doe", "jane.doe@example.com", 25);
+
+        byte[] binary = CadastroBinaryCodec.encode(cadastro);
+        CadastroDto decoded = (CadastroDto) CadastroBinaryCodec.decode(binary);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(cadastro);
+        assertThat(binary.length).isLessThan(javaSerialized(cadastro).length / 3);
+    }
+
+    @Test
+    void canEncode_shouldLeaveOtherValuesToJavaSerialization() {
+        assertThat(CadastroBinaryCodec.canEncode("text")).isFalse();
+        assertThat(CadastroBinaryCodec.canEncode(List.of(new CadastroDto()))).isFalse();
+        assertThat(CadastroBinaryCodec.canEncode(Map.of("when", LocalDate.of(2024, 1, 1)))).isFalse();
+        assertThat(CadastroBinaryCodec.canEncode(Map.of(1, "not a string key"))).isFalse();
+        assertThat(CadastroBinaryCodec.canEncode(Map.of("tarefa", "CREATE"))).isFalse();
+        assertThat(CadastroBinaryCodec.canEncode(new TreeMap<>(Map.of("tarefa", "CREATE")))).isFalse();
+        assertThat(CadastroBinaryCodec.canEncode(Collections.unmodifiableMap(new HashMap<>(Map.of("tarefa", "CREATE"))))).isFalse();
+        assertThat(CadastroBinaryCodec.canEncode(new HashMap<>(Map.of("tags", List.of("a"))))).isFalse();
+    }
+
+    @Test
+    void decode_shouldRejectUnknownVersions() throws IOException {
+        byte[] bytes = CadastroBinaryCodec.encode(new CadastroDto());
+        bytes[1] = (byte) (CadastroBinaryCodec.VERSION + 1);
+
+        assertThatThrownBy(() -> CadastroBinaryCodec.decode(bytes))
+                .isInstanceOf(StreamCorruptedException.class)
+                .hasMessageContaining("version");
+    }
+
+    private static byte[] javaSerialized(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
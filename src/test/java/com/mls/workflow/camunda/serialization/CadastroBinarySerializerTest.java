@@ -0,0 +1,48 @@
+package com.mls.workflow.camunda.serialization;
+
+import com.mls.workflow.camunda.async.AsyncCadastroProcess;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The job executor is off, so the async instance waits on its first job with its inputs stored as a variable.
+ */
+@SpringBootTest(properties = {"cadastro.async.enabled=true", "camunda.bpm.job-execution.enabled=false"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CadastroBinarySerializerTest {
+
+    @Autowired
+    private AsyncCadastroProcess asyncProcess;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Test
+    void onlyTheCadastroInputs_shouldBeStoredInTheBinaryFormat() {
+        String instanceId = asyncProcess.start("bk-1", Map.of("tarefa", "READ", "id", "1")).getRequestId();
+        runtimeService.setVariable(instanceId, "sorted", new TreeMap<>(Map.of("a", "b")));
+
+        ObjectValue inputs = runtimeService.getVariableTyped(instanceId, "processVariables", false);
+        assertThat(inputs.getSerializationDataFormat()).isEqualTo(CadastroBinarySerializer.DATA_FORMAT);
+        assertThat(inputs.getObjectTypeName()).isEqualTo(LinkedHashMap.class.getName());
+        ObjectValue decoded = runtimeService.getVariableTyped(instanceId, "processVariables");
+        assertThat(decoded.getValue()).isInstanceOf(LinkedHashMap.class).isEqualTo(Map.of("tarefa", "READ", "id", "1"));
+
+        ObjectValue sorted = runtimeService.getVariableTyped(instanceId, "sorted", false);
+        assertThat(sorted.getSerializationDataFormat()).isEqualTo(Variables.SerializationDataFormats.JAVA.getName());
+        assertThat(runtimeService.getVariable(instanceId, "sorted")).isInstanceOf(TreeMap.class);
+    }
+}
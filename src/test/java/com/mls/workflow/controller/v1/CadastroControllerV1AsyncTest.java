@@ -0,0 +1,104 @@
+package com.mls.workflow.controller.v1;
+
+import com.mls.workflow.camunda.async.AsyncCadastroProcess;
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.AsyncRequestStatusDto;
+import com.mls.workflow.core.service.CadastroImportService;
+import com.mls.workflow.core.service.CadastroService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.RuntimeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Import(SimpleMeterRegistry.class)
+@WebMvcTest(controllers = CadastroControllerV1.class)
+@AutoConfigureMockMvc(addFilters = false)
+class CadastroControllerV1AsyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RuntimeService runtimeService;
+
+    @MockBean
+    private CadastroService cadastroService;
+
+    @MockBean
+    private CadastroImportService cadastroImportService;
+
+    @MockBean
+    private AsyncCadastroProcess asyncProcess;
+
+    @Test
+    void create_withRespondAsync_shouldReturn202WithStatusUrl() throws Exception {
+        when(asyncProcess.start(anyString(), anyMap())).thenReturn(AsyncRequestStatusDto.pending("pi-1"));
+
+        mockMvc.perform(post("/api/v1/cadastro")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Ana\",\"email\":\"ana@example.com\",\"idade\":22}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/cadastro/requests/pi-1"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.requestId").value("pi-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(asyncProcess).start(anyString(), argThat((Map<String, Object> variables) -> "CREATE".equals(variables.get("tarefa"))));
+        verifyNoInteractions(runtimeService);
+    }
+
+    @Test
+    void delete_withRespondAsyncAmongOtherPreferences_shouldReturn202() throws Exception {
+        when(asyncProcess.start(eq("7"), anyMap())).thenReturn(AsyncRequestStatusDto.pending("pi-7"));
+
+        mockMvc.perform(delete("/api/v1/cadastro/7").header("Prefer", "return=minimal, respond-async; wait=0"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.requestId").value("pi-7"));
+    }
+
+    @Test
+    void requestStatus_shouldReturnPendingWithRetryAfterAndCompletedResults() throws Exception {
+        when(asyncProcess.status("pi-1")).thenReturn(Optional.of(AsyncRequestStatusDto.pending("pi-1")));
+        when(asyncProcess.status("pi-2")).thenReturn(Optional.of(new AsyncRequestStatusDto("pi-2", AsyncRequestStatusDto.COMPLETED,
+                201, "Recurso criado com sucesso", new CadastroDto(5L, "Ana", "ana@example.com", 22))));
+        when(asyncProcess.status("unknown")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/cadastro/requests/pi-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        mockMvc.perform(get("/api/v1/cadastro/requests/pi-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.statusCode").value(201))
+                .andExpect(jsonPath("$.result.id").value(5));
+
+        mockMvc.perform(get("/api/v1/cadastro/requests/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
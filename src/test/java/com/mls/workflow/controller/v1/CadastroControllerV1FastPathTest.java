@@ -0,0 +1,73 @@
+package com.mls.workflow.controller.v1;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.service.CadastroImportService;
+import com.mls.workflow.core.service.CadastroService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.RuntimeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Import(SimpleMeterRegistry.class)
+@WebMvcTest(controllers = CadastroControllerV1.class, properties = "cadastro.fast-path.read=true")
+@AutoConfigureMockMvc(addFilters = false)
+class CadastroControllerV1FastPathTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private RuntimeService runtimeService;
+
+    @MockBean
+    private CadastroService cadastroService;
+
+    @MockBean
+    private CadastroImportService cadastroImportService;
+
+    @Test
+    void read_shouldReturn200WithoutStartingAProcess() throws Exception {
+        when(cadastroService.read(1L)).thenReturn(Optional.of(new CadastroDto(1L, "Test", "test@test.com", 30)));
+        double fastReads = fastReadCount();
+
+        mockMvc.perform(get("/api/v1/cadastro/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.nome").value("Test"));
+
+        verifyNoInteractions(runtimeService);
+        assertThat(fastReadCount()).isEqualTo(fastReads + 1);
+    }
+
+    @Test
+    void read_shouldReturn404WithoutStartingAProcess() throws Exception {
+        when(cadastroService.read(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/cadastro/99"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(runtimeService);
+    }
+
+    private double fastReadCount() {
+        return meterRegistry.get("cadastro.requests").tags("endpoint", "read", "path", "fast").counter().count();
+    }
+}
@@ -1,28 +1,42 @@
 package com.mls.workflow.controller.v1;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mls.workflow.core.dto.BatchItemResultDto;
 import com.mls.workflow.core.dto.CadastroDto;
 import com.mls.workflow.core.dto.v1.CreateRequestDto;
 import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+import com.mls.workflow.core.service.CadastroImportService;
+import com.mls.workflow.core.service.CadastroService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.camunda.bpm.engine.RuntimeService;
-import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstanceWithVariables;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@Import(SimpleMeterRegistry.class)
 @WebMvcTest(CadastroControllerV1.class)
 @org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc(addFilters = false)
 public class CadastroControllerV1IntegrationTest {
@@ -36,6 +50,12 @@ public class CadastroControllerV1IntegrationTest {
     @MockBean
     private RuntimeService runtimeService;
 
+    @MockBean
+    private CadastroService cadastroService;
+
+    @MockBean
+    private CadastroImportService cadastroImportService;
+
     @Test
     void create_shouldReturn201_whenRequestIsValid() throws Exception {
         CreateRequestDto createDto = new CreateRequestDto();
@@ -44,17 +64,12 @@ public class CadastroControllerV1IntegrationTest {
         createDto.setIdade(30);
 
         CadastroDto resultDto = new CadastroDto(1L, "Test", "test@test.com", 30);
-        
-        ProcessInstance mockInstance = mock(ProcessInstance.class);
-        when(mockInstance.getProcessInstanceId()).thenReturn("mock-process-id");
 
         VariableMap variables = Variables.createVariables()
                 .putValue("result", resultDto)
                 .putValue("statusCode", 201);
 
-        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(VariableMap.class)))
-                .thenReturn(mockInstance);
-        when(runtimeService.getVariablesTyped(anyString(), anyBoolean())).thenReturn(variables);
+        givenProcessReturns(variables);
 
         mockMvc.perform(post("/api/v1/cadastro")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -68,16 +83,11 @@ public class CadastroControllerV1IntegrationTest {
     @Test
     void read_shouldReturn200_whenIdExists() throws Exception {
         CadastroDto resultDto = new CadastroDto(1L, "Test", "test@test.com", 30);
-        ProcessInstance mockInstance = mock(ProcessInstance.class);
-        when(mockInstance.getProcessInstanceId()).thenReturn("mock-process-id");
-
         VariableMap variables = Variables.createVariables()
                 .putValue("result", resultDto)
                 .putValue("statusCode", 200);
 
-        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(VariableMap.class)))
-                .thenReturn(mockInstance);
-        when(runtimeService.getVariablesTyped(anyString(), anyBoolean())).thenReturn(variables);
+        givenProcessReturns(variables);
 
         mockMvc.perform(get("/api/v1/cadastro/1"))
                 .andExpect(status().isOk())
@@ -86,16 +96,11 @@ public class CadastroControllerV1IntegrationTest {
 
     @Test
     void read_shouldReturn404_whenIdDoesNotExist() throws Exception {
-        ProcessInstance mockInstance = mock(ProcessInstance.class);
-        when(mockInstance.getProcessInstanceId()).thenReturn("mock-process-id");
-
         VariableMap variables = Variables.createVariables()
                 .putValue("result", null)
                 .putValue("statusCode", 404);
 
-        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(VariableMap.class)))
-                .thenReturn(mockInstance);
-        when(runtimeService.getVariablesTyped(anyString(), anyBoolean())).thenReturn(variables);
+        givenProcessReturns(variables);
 
         mockMvc.perform(get("/api/v1/cadastro/99"))
                 .andExpect(status().isNotFound());
@@ -107,16 +112,11 @@ public class CadastroControllerV1IntegrationTest {
         updateDto.setNome("Updated Name");
 
         CadastroDto resultDto = new CadastroDto(1L, "Updated Name", "test@test.com", 30);
-        ProcessInstance mockInstance = mock(ProcessInstance.class);
-        when(mockInstance.getProcessInstanceId()).thenReturn("mock-process-id");
-
         VariableMap variables = Variables.createVariables()
                 .putValue("result", resultDto)
                 .putValue("statusCode", 200);
 
-        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(VariableMap.class)))
-                .thenReturn(mockInstance);
-        when(runtimeService.getVariablesTyped(anyString(), anyBoolean())).thenReturn(variables);
+        givenProcessReturns(variables);
 
         mockMvc.perform(put("/api/v1/cadastro/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -126,18 +126,145 @@ public class CadastroControllerV1IntegrationTest {
     }
 
     @Test
-    void delete_shouldReturn204_whenIdExists() throws Exception {
-        ProcessInstance mockInstance = mock(ProcessInstance.class);
-        when(mockInstance.getProcessInstanceId()).thenReturn("mock-process-id");
+    void patch_shouldReturn200_whenMergePatchIsValid() throws Exception {
+        CadastroDto resultDto = new CadastroDto(1L, "Test", "test@test.com", 31);
+        VariableMap variables = Variables.createVariables()
+                .putValue("result", resultDto)
+                .putValue("statusCode", 200);
+
+        givenProcessReturns(variables);
+
+        mockMvc.perform(patch("/api/v1/cadastro/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"idade\":31}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.idade").value(31));
+    }
 
+    @Test
+    void patch_shouldReturn400_whenNoFieldIsSupplied() throws Exception {
+        mockMvc.perform(patch("/api/v1/cadastro/1")
+                .contentType("application/merge-patch+json")
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void upsert_shouldReturn200_withStoredRecord() throws Exception {
+        CreateRequestDto upsertDto = new CreateRequestDto();
+        upsertDto.setNome("Test");
+        upsertDto.setEmail("test@test.com");
+        upsertDto.setIdade(30);
+
+        VariableMap variables = Variables.createVariables()
+                .putValue("result", new CadastroDto(7L, "Test", "test@test.com", 30))
+                .putValue("statusCode", 200);
+
+        givenProcessReturns(variables);
+
+        mockMvc.perform(put("/api/v1/cadastro/upsert")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(upsertDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void delete_shouldReturn204_whenIdExists() throws Exception {
         VariableMap variables = Variables.createVariables()
                 .putValue("statusCode", 204);
 
-        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(VariableMap.class)))
-                .thenReturn(mockInstance);
-        when(runtimeService.getVariablesTyped(anyString(), anyBoolean())).thenReturn(variables);
+        givenProcessReturns(variables);
 
         mockMvc.perform(delete("/api/v1/cadastro/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void batch_shouldReturnPerItemResults() throws Exception {
+        when(cadastroService.createAll(anyList())).thenReturn(List.of(
+                new BatchItemResultDto("CREATE", 10L, 201, "Recurso criado com sucesso")));
+        when(cadastroService.updateAll(anyList())).thenReturn(List.of());
+        when(cadastroService.deleteAll(anyList())).thenReturn(List.of(
+                new BatchItemResultDto("DELETE", 99L, 404, "Recurso não encontrado")));
+
+        String json = """
+                {
+                  "create": [{"nome": "Ana", "email": "ana@ex.com", "idade": 25}],
+                  "delete": [99]
+                }
+                """;
+
+        mockMvc.perform(post("/api/v1/cadastro/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(10L))
+                .andExpect(jsonPath("$.results[1].statusCode").value(404));
+    }
+
+    @Test
+    void batch_shouldReturn400_whenAnItemIsInvalid() throws Exception {
+        String json = """
+                {"create": [{"nome": "", "email": "bad", "idade": 25}]}
+                """;
+
+        mockMvc.perform(post("/api/v1/cadastro/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void list_shouldReturnPageWithNextCursor() throws Exception {
+        when(cadastroService.list(5L, 2)).thenReturn(List.of(
+                new CadastroDto(6L, "A", "a@test.com", 20),
+                new CadastroDto(7L, "B", "b@test.com", 21)));
+
+        mockMvc.perform(get("/api/v1/cadastro").param("after", "5").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextAfter").value(7L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_shouldStreamOneJsonObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CadastroDto> consumer = invocation.getArgument(0);
+            consumer.accept(new CadastroDto(1L, "A", "a@test.com", 20));
+            consumer.accept(new CadastroDto(2L, "B", "b@test.com", 21));
+            return null;
+        }).when(cadastroService).exportAll(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/cadastro/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":1,\"nome\":\"A\",\"email\":\"a@test.com\",\"idade\":20}\n"
+                                + "{\"id\":2,\"nome\":\"B\",\"email\":\"b@test.com\",\"idade\":21}\n"));
+    }
+
+    @Test
+    void findByEmail_shouldReturn404_whenEmailIsUnknown() throws Exception {
+        when(cadastroService.findByEmail("x@test.com")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/cadastro/by-email").param("email", "x@test.com"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void givenProcessReturns(VariableMap variables) {
+        ProcessInstantiationBuilder builder = mock(ProcessInstantiationBuilder.class, RETURNS_SELF);
+        ProcessInstanceWithVariables instance = mock(ProcessInstanceWithVariables.class);
+        when(runtimeService.createProcessInstanceByKey(anyString())).thenReturn(builder);
+        when(builder.executeWithVariablesInReturn()).thenReturn(instance);
+        when(instance.getVariables()).thenReturn(variables);
+    }
 }
@@ -0,0 +1,148 @@
+package com.mls.workflow.core.repository.memory;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryCadastroRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void crudOperations_shouldBehaveLikeTheTable() {
+        InMemoryCadastroRepository repository = open(100, false);
+
+        CadastroDto joao = repository.insert(new CadastroDto(null, "João", "joao@example.com", 30));
+        CadastroDto maria = repository.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+
+        assertThat(joao.getId()).isEqualTo(1L);
+        assertThat(maria.getId()).isEqualTo(2L);
+        assertThat(repository.findById(2L)).get().extracting(CadastroDto::getNome).isEqualTo("Maria");
+        assertThat(repository.findByEmail(" MARIA@example.com")).get().extracting(CadastroDto::getId).isEqualTo(2L);
+
+        assertThat(repository.patch(1L, null, null, 31)).get().extracting(CadastroDto::getIdade).isEqualTo(31);
+        assertThat(repository.patch(99L, "x", null, null)).isEmpty();
+
+        CadastroDto upserted = repository.upsertByEmail(new CadastroDto(null, "Maria S.", "maria@EXAMPLE.com", 26));
+        assertThat(upserted.getId()).isEqualTo(2L);
+        assertThat(repository.upsertByEmail(new CadastroDto(null, "Ana", "ana@example.com", 22)).getId()).isEqualTo(3L);
+
+        assertThat(repository.deleteById(1L)).isTrue();
+        assertThat(repository.deleteById(1L)).isFalse();
+        assertThat(repository.findPage(Long.MIN_VALUE, 10)).extracting(CadastroDto::getId).containsExactly(2L, 3L);
+        assertThat(repository.findPage(2L, 10)).extracting(CadastroDto::getId).containsExactly(3L);
+
+        repository.close();
+    }
+
+    @Test
+    void reopen_shouldReplaySnapshotAndLog() {
+        InMemoryCadastroRepository repository = open(3, false);
+        for (int i = 1; i <= 5; i++) {
+            repository.insert(new CadastroDto(null, "Nome " + i, "user" + i + "@example.com", 20 + i));
+        }
+        repository.deleteById(5L);
+        repository.update(2L, new CadastroDto(null, "Nome 2b", "user2@example.com", 40));
+        // No close(): the last entries are only in the log, as after a crash.
+
+        InMemoryCadastroRepository reopened = open(3, false);
+
+        assertThat(reopened.findPage(Long.MIN_VALUE, 10)).extracting(CadastroDto::getId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(reopened.findById(2L)).get().extracting(CadastroDto::getNome).isEqualTo("Nome 2b");
+        assertThat(reopened.insert(new CadastroDto(null, "Nome 6", "user6@example.com", 26)).getId()).isEqualTo(6L);
+        reopened.close();
+    }
+
+    @Test
+    void reopen_shouldDropATornLogTail() throws IOException {
+        InMemoryCadastroRepository repository = open(100, false);
+        repository.insert(new CadastroDto(null, "João", "joao@example.com", 30));
+        repository.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+        Files.write(directory.resolve(CadastroWal.LOG_FILE), new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        InMemoryCadastroRepository reopened = open(100, false);
+
+        assertThat(reopened.findPage(Long.MIN_VALUE, 10)).hasSize(2);
+        reopened.insert(new CadastroDto(null, "Pedro", "pedro@example.com", 35));
+        reopened.close();
+        assertThat(open(100, false).findById(3L)).isPresent();
+    }
+
+    @Test
+    void insertAll_withUniqueEmail_shouldRejectTheWholeChunk() {
+        InMemoryCadastroRepository repository = open(100, true);
+        repository.insert(new CadastroDto(null, "João", "joao@example.com", 30));
+
+        List<CadastroDto> chunk = new ArrayList<>(List.of(
+                new CadastroDto(null, "Ana", "ana@example.com", 22),
+                new CadastroDto(null, "Outro João", "JOAO@example.com", 40)));
+
+        assertThatThrownBy(() -> repository.insertAll(chunk)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(repository.findByEmail("ana@example.com")).isEmpty();
+        assertThat(chunk.get(0).getId()).isNull();
+        repository.close();
+    }
+
+    @Test
+    void writesOfARolledBackTransaction_shouldBeUndoneAndStayUndoneAfterReopen() {
+        InMemoryCadastroRepository repository = open(100, false);
+        repository.insert(new CadastroDto(null, "João", "joao@example.com", 30));
+        repository.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+
+        transactionTemplate().executeWithoutResult(status -> {
+            repository.insertAll(new ArrayList<>(List.of(new CadastroDto(null, "Ana", "ana@example.com", 22))));
+            repository.update(1L, new CadastroDto(null, "João S.", "joao@example.com", 31));
+            repository.deleteById(2L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(repository.findPage(Long.MIN_VALUE, 10)).extracting(CadastroDto::getNome).containsExactly("João", "Maria");
+
+        transactionTemplate().executeWithoutResult(status -> {
+            repository.update(1L, new CadastroDto(null, "João S.", "joao@example.com", 31));
+            // A write outside the transaction replaces the record again; the rollback must keep it.
+            Thread other = new Thread(() -> repository.update(1L, new CadastroDto(null, "João Outro", "joao@example.com", 32)));
+            other.start();
+            try {
+                other.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+        assertThat(repository.findById(1L)).get().extracting(CadastroDto::getNome).isEqualTo("João Outro");
+
+        transactionTemplate().executeWithoutResult(status -> repository.deleteById(2L));
+        assertThat(repository.findById(2L)).isEmpty();
+        // No close(): the compensating entries are only in the log.
+
+        InMemoryCadastroRepository reopened = open(100, false);
+        assertThat(reopened.findPage(Long.MIN_VALUE, 10)).extracting(CadastroDto::getNome).containsExactly("João Outro");
+        reopened.close();
+    }
+
+    private static TransactionTemplate transactionTemplate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:tx-" + UUID.randomUUID(), "sa", "");
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private InMemoryCadastroRepository open(int snapshotEvery, boolean uniqueEmail) {
+        return new InMemoryCadastroRepository(directory, false, snapshotEvery, uniqueEmail);
+    }
+}
@@ -0,0 +1,41 @@
+package com.mls.workflow.core.repository.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void randomOperations_shouldMatchHashMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "v" + i;
+                assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    void zeroKey_shouldBeRejected() {
+        assertThatThrownBy(() -> new LongObjectHashMap<String>(4).put(0L, "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,232 @@
+package com.mls.workflow.core.repository.sharded;
+
+import com.mls.workflow.core.dto.BatchItemResultDto;
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.repository.PartialWriteException;
+import com.mls.workflow.core.service.CadastroChangeFeed;
+import com.mls.workflow.core.service.CadastroChangeListener;
+import com.mls.workflow.core.service.CadastroService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedCadastroRepositoryTest {
+
+    private static final int SHARDS = 4;
+
+    private ShardedCadastroRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:cadastro-shard-{shard}-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        repository = new ShardedCadastroRepository(SHARDS, url, "sa", "", 2, 3, "hard", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void idsShouldEncodeTheShardAndRouteSingleKeyOperations() {
+        List<CadastroDto> created = insertPeople(40);
+
+        assertThat(created).extracting(cadastro -> ShardedCadastroRepository.shardIndex(cadastro.getId()))
+                .containsOnly(0, 1, 2, 3);
+        for (CadastroDto cadastro : created) {
+            assertThat(repository.findById(cadastro.getId())).get().extracting(CadastroDto::getEmail).isEqualTo(cadastro.getEmail());
+        }
+
+        CadastroDto first = created.get(0);
+        assertThat(repository.patch(first.getId(), null, null, 99)).get().extracting(CadastroDto::getIdade).isEqualTo(99);
+        assertThat(repository.deleteById(first.getId())).isTrue();
+        assertThat(repository.findById(first.getId())).isEmpty();
+        assertThat(repository.findById(ShardedCadastroRepository.globalId(1, 200))).isEmpty();
+    }
+
+    @Test
+    void listAndCountShouldMergeAllShardsInIdOrder() {
+        List<Long> ids = insertPeople(25).stream().map(CadastroDto::getId).sorted().toList();
+
+        assertThat(repository.count()).isEqualTo(25);
+
+        List<Long> paged = new ArrayList<>();
+        long after = Long.MIN_VALUE;
+        List<CadastroDto> page;
+        while (!(page = repository.findPage(after, 7)).isEmpty()) {
+            page.forEach(cadastro -> paged.add(cadastro.getId()));
+            after = page.get(page.size() - 1).getId();
+        }
+        assertThat(paged).isEqualTo(ids);
+
+        List<Long> exported = new ArrayList<>();
+        repository.forEachOrdered(cadastro -> exported.add(cadastro.getId()));
+        assertThat(exported).isEqualTo(ids);
+    }
+
+    @Test
+    void batchWritesShouldReportPerItemResultsInInputOrder() {
+        List<CadastroDto> created = insertPeople(10);
+        long missing = ShardedCadastroRepository.globalId(10_000, 2);
+
+        List<CadastroDto> updates = new ArrayList<>();
+        updates.add(new CadastroDto(missing, "X", "x@example.com", 1));
+        for (CadastroDto cadastro : created) {
+            updates.add(new CadastroDto(cadastro.getId(), cadastro.getNome(), cadastro.getEmail(), 50));
+        }
+        int[] updated = repository.updateAll(updates);
+        assertThat(updated[0]).isZero();
+        assertThat(Arrays.stream(updated).skip(1)).containsOnly(1).hasSize(10);
+
+        int[] deleted = repository.deleteAll(List.of(created.get(3).getId(), missing, created.get(7).getId()));
+        assertThat(deleted).containsExactly(1, 0, 1);
+        assertThat(repository.count()).isEqualTo(8);
+    }
+
+    @Test
+    void upsertByEmailShouldFindTheRecordOnAnyShard() {
+        CadastroDto stored = repository.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+
+        CadastroDto upserted = repository.upsertByEmail(new CadastroDto(null, "Maria S.", " MARIA@example.com", 26));
+        assertThat(upserted.getId()).isEqualTo(stored.getId());
+        assertThat(repository.findByEmail("maria@example.com")).get().extracting(CadastroDto::getNome).isEqualTo("Maria S.");
+
+        CadastroDto inserted = repository.upsertByEmail(new CadastroDto(null, "Ana", "ana@example.com", 22));
+        assertThat(inserted.getId()).isNotEqualTo(stored.getId());
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void batchFailingOnOneShardOnly_shouldKeepTheOtherShardsAndReportTheFailedPositions() {
+        ShardedCadastroRepository unique = uniqueEmailRepository();
+        try {
+            unique.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+            List<CadastroDto> batch = List.of(
+                    personOnAnotherShard("maria@example.com", 0),
+                    new CadastroDto(null, "Maria de novo", "maria@example.com", 26),
+                    personOnAnotherShard("maria@example.com", 1));
+
+            assertThatThrownBy(() -> unique.insertAll(batch))
+                    .isInstanceOfSatisfying(PartialWriteException.class, e -> {
+                        assertThat(e.getFailedPositions()).containsExactly(1);
+                        assertThat(e.getAffectedRows()).containsExactly(1, 0, 1);
+                    });
+            assertThat(unique.count()).isEqualTo(3);
+        } finally {
+            unique.close();
+        }
+    }
+
+    @Test
+    void createAllWithAPartialShardFailure_shouldReplayOnlyTheFailedItems() {
+        ShardedCadastroRepository unique = uniqueEmailRepository();
+        try {
+            unique.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+            DriverManagerDataSource outbox = new DriverManagerDataSource("jdbc:h2:mem:outbox-" + UUID.randomUUID(), "sa", "");
+            DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+            CadastroService service = new CadastroService(unique, new DataSourceTransactionManager(outbox),
+                    beans.getBeanProvider(CadastroChangeFeed.class), beans.getBeanProvider(CadastroChangeListener.class), 500);
+
+            List<BatchItemResultDto> results = service.createAll(List.of(
+                    personOnAnotherShard("maria@example.com", 0),
+                    new CadastroDto(null, "Maria de novo", "maria@example.com", 26),
+                    personOnAnotherShard("maria@example.com", 1)));
+
+            assertThat(results).extracting(BatchItemResultDto::getStatusCode).containsExactly(201, 409, 201);
+            assertThat(results).extracting(BatchItemResultDto::getIndex).containsExactly(0, 1, 2);
+            assertThat(unique.count()).isEqualTo(3);
+        } finally {
+            unique.close();
+        }
+    }
+
+    @Test
+    void uniqueEmails_shouldHoldAcrossShardsAfterAnEmailChange() {
+        ShardedCadastroRepository unique = uniqueEmailRepository();
+        try {
+            CadastroDto maria = unique.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+            CadastroDto other = personOnAnotherShard("maria@example.com", 0);
+            unique.insert(other);
+
+            // The record stays on its shard under the new e-mail, which hashes to another shard.
+            String moved = personOnAnotherShard("maria@example.com", 1).getEmail();
+            assertThat(unique.patch(maria.getId(), null, moved, null)).get()
+                    .extracting(CadastroDto::getId).isEqualTo(maria.getId());
+
+            assertThatThrownBy(() -> unique.insert(new CadastroDto(null, "Outra", moved.toUpperCase(), 30)))
+                    .isInstanceOf(DuplicateKeyException.class);
+            assertThatThrownBy(() -> unique.insertAll(List.of(new CadastroDto(null, "Outra", moved, 30))))
+                    .isInstanceOf(DuplicateKeyException.class);
+            assertThatThrownBy(() -> unique.patch(other.getId(), null, moved, null))
+                    .isInstanceOf(DuplicateKeyException.class);
+            assertThatThrownBy(() -> unique.update(other.getId(), new CadastroDto(null, "Outro", moved, 30)))
+                    .isInstanceOf(DuplicateKeyException.class);
+            assertThatThrownBy(() -> unique.updateAll(List.of(new CadastroDto(other.getId(), "Outro", moved, 30))))
+                    .isInstanceOf(DuplicateKeyException.class);
+
+            assertThat(unique.upsertByEmail(new CadastroDto(null, "Maria S.", moved, 26)).getId()).isEqualTo(maria.getId());
+            assertThat(unique.count()).isEqualTo(2);
+
+            // Once the e-mail is free again it can be taken on any shard.
+            assertThat(unique.deleteById(maria.getId())).isTrue();
+            assertThat(unique.patch(other.getId(), null, moved, null)).isPresent();
+        } finally {
+            unique.close();
+        }
+    }
+
+    @Test
+    void reopeningWithoutUniqueEmails_shouldDropTheUniqueIndex() {
+        String url = "jdbc:h2:mem:cadastro-reopen-{shard}-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        ShardedCadastroRepository unique = new ShardedCadastroRepository(SHARDS, url, "sa", "", 2, 3, "hard", true);
+        unique.insert(new CadastroDto(null, "Maria", "maria@example.com", 25));
+        unique.close();
+
+        ShardedCadastroRepository reopened = new ShardedCadastroRepository(SHARDS, url, "sa", "", 2, 3, "hard", false);
+        try {
+            reopened.insert(new CadastroDto(null, "Maria de novo", "maria@example.com", 26));
+            assertThat(reopened.count()).isEqualTo(2);
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private static ShardedCadastroRepository uniqueEmailRepository() {
+        String url = "jdbc:h2:mem:cadastro-unique-{shard}-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        return new ShardedCadastroRepository(SHARDS, url, "sa", "", 2, 3, "hard", true);
+    }
+
+    /**
+     * A new person whose e-mail is placed on a different shard than {@code email}; {@code n} makes it distinct.
+     */
+    private static CadastroDto personOnAnotherShard(String email, int n) {
+        int taken = ShardedCadastroRepository.shardIndexForEmail(email, SHARDS);
+        for (int i = 0; ; i++) {
+            String candidate = "outro" + n + "-" + i + "@example.com";
+            if (ShardedCadastroRepository.shardIndexForEmail(candidate, SHARDS) != taken) {
+                return new CadastroDto(null, "Outro " + n, candidate, 30);
+            }
+        }
+    }
+
+    private List<CadastroDto> insertPeople(int count) {
+        List<CadastroDto> people = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            people.add(new CadastroDto(null, "Pessoa " + i, "pessoa" + i + "@example.com", 20 + i));
+        }
+        repository.insertAll(people);
+        return people;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mls.workflow.core.search;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroSearchHitDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CadastroNameIndexTest {
+
+    @Test
+    void search_shouldMatchPrefixesAndSubstringsIgnoringAccentsAndCase() {
+        CadastroNameIndex index = new CadastroNameIndex();
+        index.rebuild(scan -> List.of(
+                new CadastroDto(1L, "João da Silva", "joao@example.com", 30),
+                new CadastroDto(2L, "Maria Joana Souza", "maria@example.com", 25),
+                new CadastroDto(3L, "José Silveira", "jose@example.com", 40),
+                new CadastroDto(4L, "Ana Maria", "ana@example.com", 22)
+        ).forEach(scan));
+
+        assertThat(ids(index.search("joao", 10))).containsExactly(1L);
+        assertThat(ids(index.search("JO", 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.search("silv", 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("aria", 10))).containsExactly(4L, 2L);
+        assertThat(ids(index.search("maria souza", 10))).containsExactly(2L);
+        assertThat(index.search("ar", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldRankWholeWordsFirstThenShorterNames() {
+        CadastroNameIndex index = new CadastroNameIndex();
+        index.put(1L, "Mariana Costa");
+        index.put(2L, "Rosemaria Lima");
+        index.put(3L, "Maria Costa Pereira");
+        index.put(4L, "Maria Lima");
+
+        List<CadastroSearchHitDto> hits = index.search("maria", 3);
+
+        assertThat(ids(hits)).containsExactly(4L, 3L, 1L);
+        assertThat(hits).extracting(CadastroSearchHitDto::getScore).containsExactly(3, 3, 2);
+        assertThat(hits.get(0).getNome()).isEqualTo("Maria Lima");
+    }
+
+    @Test
+    void putAndRemove_shouldKeepTheIndexCurrentAcrossCompactions() {
+        CadastroNameIndex index = new CadastroNameIndex();
+        for (long id = 1; id <= 2000; id++) {
+            index.put(id, "Pessoa " + id);
+        }
+        for (long id = 1; id <= 2000; id++) {
+            index.put(id, "Cliente " + id);
+        }
+        index.remove(7L);
+
+        assertThat(index.size()).isEqualTo(1999);
+        assertThat(index.search("pessoa", 10)).isEmpty();
+        assertThat(ids(index.search("cliente 1999", 10))).containsExactly(1999L);
+        assertThat(index.search("cliente 7", 10)).extracting(CadastroSearchHitDto::getId).doesNotContain(7L);
+    }
+
+    private static List<Long> ids(List<CadastroSearchHitDto> hits) {
+        return hits.stream().map(CadastroSearchHitDto::getId).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroChangeDto;
+import com.mls.workflow.core.dto.v1.CadastroChangeFeedDto;
+import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"cadastro.outbox.enabled=true", "cadastro.outbox.recheck-interval=50ms",
+        "cadastro.outbox.retention=1s", "cadastro.outbox.purge.interval=1h", "cadastro.outbox.purge.chunk-size=2",
+        "cadastro.outbox.purge.pause=0s"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class CadastroChangeFeedTest {
+
+    @Autowired
+    private CadastroService cadastroService;
+
+    @Autowired
+    private CadastroChangeFeed changeFeed;
+
+    @Autowired
+    private CadastroOutboxPurger outboxPurger;
+
+    @Test
+    void mutations_shouldBeRecordedInCommitOrder() {
+        CadastroDto created = cadastroService.create(new CadastroDto(null, "Ana", "ana@example.com", 22));
+        UpdateRequestDto changes = new UpdateRequestDto();
+        changes.setIdade(23);
+        cadastroService.patch(created.getId(), changes);
+        cadastroService.delete(created.getId());
+        cadastroService.delete(created.getId());
+
+        List<CadastroChangeDto> feed = changeFeed.read(0, 10);
+
+        assertThat(feed).extracting(CadastroChangeDto::getOperacao).containsExactly("CREATE", "UPDATE", "DELETE");
+        assertThat(feed).extracting(CadastroChangeDto::getId).containsOnly(created.getId());
+        assertThat(feed.get(1).getCadastro().getIdade()).isEqualTo(23);
+        assertThat(feed.get(2).getCadastro()).isNull();
+
+        List<CadastroChangeDto> resumed = changeFeed.read(feed.get(0).getSeq(), 10);
+        assertThat(resumed).extracting(CadastroChangeDto::getSeq).containsExactly(feed.get(1).getSeq(), feed.get(2).getSeq());
+    }
+
+    @Test
+    void batchWrites_shouldRecordOnlySuccessfulItems() {
+        cadastroService.deleteAll(List.of(1L, 999L));
+
+        assertThat(changeFeed.read(0, 10))
+                .extracting(CadastroChangeDto::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void poll_shouldCompleteWhenAChangeCommits() throws InterruptedException {
+        DeferredResult<CadastroChangeFeedDto> pending = changeFeed.poll(0, 10, Duration.ofSeconds(10));
+        assertThat(pending.hasResult()).isFalse();
+
+        CadastroDto created = cadastroService.create(new CadastroDto(null, "Bia", "bia@example.com", 40));
+
+        for (int i = 0; i < 100 && !pending.hasResult(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(pending.hasResult()).isTrue();
+        CadastroChangeFeedDto page = (CadastroChangeFeedDto) pending.getResult();
+        assertThat(page.getChanges()).extracting(CadastroChangeDto::getId).containsExactly(created.getId());
+        assertThat(page.getNext()).isEqualTo(page.getChanges().get(0).getSeq());
+    }
+
+    @Test
+    void poll_withoutWait_shouldReturnAnEmptyPageAtTheSameCursor() {
+        DeferredResult<CadastroChangeFeedDto> result = changeFeed.poll(0, 10, Duration.ZERO);
+
+        CadastroChangeFeedDto page = (CadastroChangeFeedDto) result.getResult();
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNext()).isZero();
+    }
+
+    @Test
+    void purge_shouldRemoveOnlyEventsOlderThanTheRetention() throws InterruptedException {
+        cadastroService.deleteAll(List.of(1L, 2L, 3L));
+        Thread.sleep(1100);
+        CadastroDto created = cadastroService.create(new CadastroDto(null, "Ana", "ana@example.com", 22));
+
+        assertThat(outboxPurger.purge()).isEqualTo(3);
+
+        List<CadastroChangeDto> feed = changeFeed.read(0, 10);
+        assertThat(feed).extracting(CadastroChangeDto::getId).containsExactly(created.getId());
+        assertThat(outboxPurger.purge()).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroSearchHitDto;
+import com.mls.workflow.core.dto.v1.CadastroStatsDto;
+import com.mls.workflow.core.search.CadastroSearchService;
+import com.mls.workflow.core.stats.CadastroStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class CadastroChangeListenersTest {
+
+    @Autowired
+    private CadastroService cadastroService;
+
+    @Autowired
+    private CadastroSearchService searchService;
+
+    @Autowired
+    private CadastroStatsService statsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService otherWriter = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() {
+        searchService.rebuild();
+        statsService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        otherWriter.shutdownNow();
+    }
+
+    @Test
+    void callbacksInReverseCommitOrder_shouldLeaveTheLatestState() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Registered before the service's callback, so it runs first: a later transaction on the same record
+            // commits and notifies before this one notifies.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeFromAnotherThread(new CadastroDto(null, "Segundo Nome", "joao@other.org", 30));
+                }
+            });
+            cadastroService.update(1L, new CadastroDto(null, "Primeiro Nome", "joao@mail.com", 30));
+        });
+
+        assertThat(searchService.search("segundo", 10)).extracting(CadastroSearchHitDto::getId).containsExactly(1L);
+        assertThat(searchService.search("primeiro", 10)).isEmpty();
+        assertThat(statsService.snapshot(10).getTopDominios()).containsExactly(
+                new CadastroStatsDto.DominioDto("example.com", 2),
+                new CadastroStatsDto.DominioDto("other.org", 1));
+    }
+
+    private void writeFromAnotherThread(CadastroDto cadastro) {
+        try {
+            otherWriter.submit(() -> cadastroService.update(1L, cadastro)).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mls.workflow.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mls.workflow.core.dto.BatchItemResultDto;
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.ImportResultDto;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CadastroImportServiceTest {
+
+    private CadastroService cadastroService;
+    private CadastroImportService importService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cadastroService = mock(CadastroService.class);
+        when(cadastroService.createAll(anyList())).thenAnswer(invocation -> ((List<CadastroDto>) invocation.getArgument(0))
+                .stream()
+                .map(c -> new BatchItemResultDto("CREATE", 1L, 201, "Recurso criado com sucesso"))
+                .toList());
+        importService = new CadastroImportService(cadastroService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2, 10);
+    }
+
+    @Test
+    void importNdjson_shouldCountAcceptedAndReportRejectedLines() throws Exception {
+        String ndjson = """
+                {"nome":"Ana","email":"ana@ex.com","idade":25}
+                {"nome":"","email":"bia@ex.com","idade":30}
+
+                {"nome":"Caio","email":"caio@ex.com","idade":40}
+                not json
+                {"nome":"Duda","email":"duda@ex.com","idade":22}
+                """;
+
+        ImportResultDto result = importService.importNdjson(stream(ndjson));
+
+        assertThat(result.getAccepted()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getRejections()).extracting(ImportResultDto.Rejection::getLine).containsExactly(2L, 5L);
+        verify(cadastroService, times(2)).createAll(anyList());
+    }
+
+    @Test
+    void importNdjson_shouldRejectANullLineAndKeepImporting() throws Exception {
+        String ndjson = """
+                null
+                {"nome":"Ana","email":"ana@ex.com","idade":25}
+                """;
+
+        ImportResultDto result = importService.importNdjson(stream(ndjson));
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejections()).singleElement().satisfies(rejection -> {
+            assertThat(rejection.getLine()).isEqualTo(1L);
+            assertThat(rejection.getMessage()).isEqualTo("Linha vazia/objeto ausente");
+        });
+    }
+
+    @Test
+    void importCsv_shouldMapColumnsByHeader() throws Exception {
+        String csv = """
+                idade;email;nome
+                25;ana@ex.com;"Silva; Ana"
+                abc;bia@ex.com;Bia
+                """;
+
+        ImportResultDto result = importService.importCsv(stream(csv));
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejections()).extracting(ImportResultDto.Rejection::getLine).containsExactly(3L);
+    }
+
+    @Test
+    void importCsv_shouldRejectItemsTheDatabaseRefuses() throws Exception {
+        when(cadastroService.createAll(anyList())).thenReturn(List.of(
+                new BatchItemResultDto("CREATE", 1L, 201, "Recurso criado com sucesso"),
+                new BatchItemResultDto("CREATE", null, 409, "Violação de integridade")));
+
+        ImportResultDto result = importService.importCsv(stream("nome,email,idade\nAna,ana@ex.com,25\nBia,bia@ex.com,30\n"));
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejections()).singleElement()
+                .satisfies(r -> assertThat(r.getLine()).isEqualTo(3L));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,158 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.config.CachingConfig;
+import com.mls.workflow.core.dto.BatchItemResultDto;
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class CadastroServiceCacheTest {
+
+    @Autowired
+    private CadastroService cadastroService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CachingConfig.CADASTRO_CACHE);
+        cache.clear();
+    }
+
+    @Test
+    void read_shouldBeServedFromTheCacheTheSecondTime() {
+        assertThat(cadastroService.read(1L)).get().extracting(CadastroDto::getNome).isEqualTo("João Silva");
+
+        // Changed behind the service's back: a cache hit still returns the first read.
+        jdbcTemplate.update("UPDATE AIC_CADASTRO SET NOME = 'Outro' WHERE ID = 1");
+
+        assertThat(cadastroService.read(1L)).get().extracting(CadastroDto::getNome).isEqualTo("João Silva");
+        assertThat(cache.get(1L)).isNotNull();
+    }
+
+    @Test
+    void read_ofAMissingId_shouldNotBeCached() {
+        assertThat(cadastroService.read(999L)).isEmpty();
+
+        assertThat(cache.get(999L)).isNull();
+    }
+
+    @Test
+    void create_afterAMissedRead_shouldBeReadBack() {
+        assertThat(cadastroService.read(4L)).isEmpty();
+        assertThat(cadastroService.read(5L)).isEmpty();
+
+        CadastroDto created = cadastroService.create(new CadastroDto(null, "Ana Costa", "ana@example.com", 28));
+        List<BatchItemResultDto> results = cadastroService.createAll(
+                List.of(new CadastroDto(null, "Bruno Lima", "bruno@example.com", 40)));
+
+        assertThat(created.getId()).isEqualTo(4L);
+        assertThat(cadastroService.read(4L)).get().extracting(CadastroDto::getNome).isEqualTo("Ana Costa");
+        assertThat(results.get(0).getId()).isEqualTo(5L);
+        assertThat(cadastroService.read(5L)).get().extracting(CadastroDto::getNome)
+                .isEqualTo("Bruno Lima");
+    }
+
+    @Test
+    void singleRecordWrites_shouldEvictTheirEntry() {
+        cadastroService.read(1L);
+        cadastroService.update(1L, new CadastroDto(null, "João S.", "joao@example.com", 31));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cadastroService.read(1L)).get().extracting(CadastroDto::getNome).isEqualTo("João S.");
+
+        UpdateRequestDto changes = new UpdateRequestDto();
+        changes.setIdade(32);
+        cadastroService.patch(1L, changes);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cadastroService.read(1L)).get().extracting(CadastroDto::getIdade).isEqualTo(32);
+
+        cadastroService.delete(1L);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cadastroService.read(1L)).isEmpty();
+    }
+
+    @Test
+    void upsertByEmail_shouldEvictTheEntryOfTheStoredRecord() {
+        cadastroService.read(2L);
+
+        CadastroDto stored = cadastroService.upsertByEmail(new CadastroDto(null, "Maria S.", "maria@example.com", 26));
+
+        assertThat(stored.getId()).isEqualTo(2L);
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cadastroService.read(2L)).get().extracting(CadastroDto::getNome).isEqualTo("Maria S.");
+    }
+
+    @Test
+    void batchWrites_shouldEvictEveryEntry() {
+        cadastroService.read(1L);
+        cadastroService.read(3L);
+        cadastroService.updateAll(List.of(new CadastroDto(2L, "Maria S.", "maria@example.com", 26)));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(3L)).isNull();
+
+        cadastroService.read(1L);
+        cadastroService.read(3L);
+        cadastroService.deleteAll(List.of(2L));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(3L)).isNull();
+    }
+
+    @Test
+    void rolledBackTransaction_shouldNeitherPopulateNorEvictTheCache() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cadastroService.read(1L);
+            status.setRollbackOnly();
+        });
+        assertThat(cache.get(1L)).isNull();
+
+        cadastroService.read(2L);
+        transactionTemplate.executeWithoutResult(status -> {
+            cadastroService.update(2L, new CadastroDto(null, "Maria S.", "maria@example.com", 26));
+            status.setRollbackOnly();
+        });
+        assertThat(cache.get(2L)).isNotNull();
+        assertThat(cadastroService.read(2L)).get().extracting(CadastroDto::getNome).isEqualTo("Maria Santos");
+    }
+
+    @Test
+    void disabledCache_shouldUseTheNoOpCacheManager() {
+        CachingConfig config = new CachingConfig();
+
+        assertThat(config.cacheManager(false, 10, Duration.ofMinutes(5))).isInstanceOf(NoOpCacheManager.class);
+        assertThat(config.cacheManager(true, 10, Duration.ofMinutes(5))).isInstanceOf(TransactionAwareCacheManagerProxy.class);
+        assertThat(cacheManager).isInstanceOf(TransactionAwareCacheManagerProxy.class);
+    }
+}
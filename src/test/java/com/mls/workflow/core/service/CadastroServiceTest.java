@@ -1,6 +1,8 @@
 package com.mls.workflow.core.service;
 
+import com.mls.workflow.core.dto.BatchItemResultDto;
 import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.UpdateRequestDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -9,6 +11,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -198,4 +202,136 @@ class CadastroServiceTest {
             cadastroService.update(null, validCadastro);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testCreateAll_ShouldInsertEveryRecordAndReturnIds() {
+        List<CadastroDto> cadastros = List.of(
+                new CadastroDto(null, "Lote Um", "lote1@example.com", 20),
+                new CadastroDto(null, "Lote Dois", "lote2@example.com", 21),
+                new CadastroDto(null, "Lote Tres", "lote3@example.com", 22));
+
+        List<BatchItemResultDto> results = cadastroService.createAll(cadastros);
+
+        assertThat(results).hasSize(3);
+        assertThat(results).allMatch(r -> r.getStatusCode() == 201 && r.getId() != null);
+        assertThat(results).extracting(BatchItemResultDto::getIndex).containsExactly(0, 1, 2);
+        assertThat(cadastroService.read(results.get(1).getId()))
+                .hasValueSatisfying(c -> assertThat(c.getNome()).isEqualTo("Lote Dois"));
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testUpdateAll_ShouldReportNotFoundPerItem() {
+        List<BatchItemResultDto> results = cadastroService.updateAll(List.of(
+                new CadastroDto(1L, "João Lote", "joao.lote@example.com", 31),
+                new CadastroDto(999L, "Ninguem", "ninguem@example.com", 40)));
+
+        assertThat(results).extracting(BatchItemResultDto::getStatusCode).containsExactly(200, 404);
+        assertThat(cadastroService.read(1L))
+                .hasValueSatisfying(c -> assertThat(c.getNome()).isEqualTo("João Lote"));
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testDeleteAll_ShouldRemoveExistingAndReportMissing() {
+        List<BatchItemResultDto> results = cadastroService.deleteAll(List.of(2L, 3L, 999L));
+
+        assertThat(results).extracting(BatchItemResultDto::getStatusCode).containsExactly(204, 204, 404);
+        assertThat(cadastroService.read(2L)).isEmpty();
+        assertThat(cadastroService.read(3L)).isEmpty();
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testList_ShouldPageByIdAfterCursor() {
+        List<CadastroDto> firstPage = cadastroService.list(null, 2);
+        assertThat(firstPage).extracting(CadastroDto::getId).containsExactly(1L, 2L);
+
+        List<CadastroDto> secondPage = cadastroService.list(firstPage.get(1).getId(), 2);
+        assertThat(secondPage).extracting(CadastroDto::getId).containsExactly(3L);
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testList_InvalidLimit_ShouldThrowConstraintViolationException() {
+        assertThrows(ConstraintViolationException.class, () -> cadastroService.list(null, 0));
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testExportAll_ShouldStreamEveryRecordInIdOrder() {
+        List<CadastroDto> exported = new ArrayList<>();
+
+        cadastroService.exportAll(exported::add);
+
+        assertThat(exported).extracting(CadastroDto::getId).containsExactly(1L, 2L, 3L);
+        assertThat(exported.get(2).getEmail()).isEqualTo("pedro@example.com");
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testFindByEmail_ShouldIgnoreCaseAndSurroundingBlanks() {
+        Optional<CadastroDto> result = cadastroService.findByEmail("  Maria@Example.COM ");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(2L);
+        assertThat(cadastroService.findByEmail("ninguem@example.com")).isEmpty();
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testPatch_ShouldChangeOnlySuppliedFieldsAndReturnNewRow() {
+        UpdateRequestDto changes = new UpdateRequestDto();
+        changes.setIdade(41);
+
+        Optional<CadastroDto> result = cadastroService.patch(1L, changes);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getIdade()).isEqualTo(41);
+        assertThat(result.get().getNome()).isEqualTo("João Silva");
+        assertThat(result.get().getEmail()).isEqualTo("joao@example.com");
+        assertThat(cadastroService.read(1L)).get().extracting(CadastroDto::getIdade).isEqualTo(41);
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testPatch_NonExistingId_ShouldReturnEmpty() {
+        UpdateRequestDto changes = new UpdateRequestDto();
+        changes.setNome("Ninguém");
+
+        assertThat(cadastroService.patch(999L, changes)).isEmpty();
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testUpsertByEmail_ExistingEmail_ShouldUpdateInPlace() {
+        CadastroDto result = cadastroService.upsertByEmail(new CadastroDto(null, "Maria S.", "MARIA@example.com", 26));
+
+        assertThat(result.getId()).isEqualTo(2L);
+        assertThat(result.getNome()).isEqualTo("Maria S.");
+        assertThat(result.getIdade()).isEqualTo(26);
+        assertThat(cadastroService.list(null, 10)).hasSize(3);
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testUpsertByEmail_NewEmail_ShouldInsert() {
+        CadastroDto result = cadastroService.upsertByEmail(new CadastroDto(null, "Ana", "ana@example.com", 22));
+
+        assertThat(result.getId()).isNotNull();
+        assertThat(cadastroService.findByEmail("ana@example.com")).get().extracting(CadastroDto::getId).isEqualTo(result.getId());
+        assertThat(cadastroService.list(null, 10)).hasSize(4);
+    }
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void testUpsertByEmail_DuplicateEmails_ShouldOverwriteOnlyTheOldest() {
+        CadastroDto duplicate = cadastroService.create(new CadastroDto(null, "Maria B.", "maria@example.com", 40));
+
+        CadastroDto result = cadastroService.upsertByEmail(new CadastroDto(null, "Maria S.", "maria@example.com", 26));
+
+        assertThat(result.getId()).isEqualTo(2L);
+        assertThat(cadastroService.read(duplicate.getId())).get().extracting(CadastroDto::getNome).isEqualTo("Maria B.");
+    }
+}
@@ -0,0 +1,52 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.UpdateRequestDto;
+import com.mls.workflow.core.repository.CadastroRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"cadastro.delete.mode=soft", "cadastro.purge.interval=1h", "cadastro.purge.chunk-size=2", "cadastro.purge.pause=0s"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CadastroSoftDeleteTest {
+
+    @Autowired
+    private CadastroService cadastroService;
+
+    @Autowired
+    private CadastroRepository cadastroRepository;
+
+    @Autowired
+    private CadastroPurger cadastroPurger;
+
+    @Test
+    @Sql(scripts = {"/schema.sql", "/data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    void delete_shouldHideTheRecordUntilThePurgerRemovesIt() throws Exception {
+        assertThat(cadastroService.delete(1L)).isTrue();
+        assertThat(cadastroService.delete(1L)).isFalse();
+        assertThat(cadastroService.deleteAll(List.of(2L, 3L))).allMatch(r -> r.getStatusCode() == 204);
+
+        assertThat(cadastroService.read(1L)).isEmpty();
+        assertThat(cadastroService.findByEmail("maria@example.com")).isEmpty();
+        assertThat(cadastroService.list(null, 10)).isEmpty();
+        UpdateRequestDto changes = new UpdateRequestDto();
+        changes.setIdade(50);
+        assertThat(cadastroService.patch(3L, changes)).isEmpty();
+        assertThat(cadastroRepository.countDeleted()).isEqualTo(3);
+
+        assertThat(cadastroPurger.purge()).isEqualTo(3);
+        assertThat(cadastroRepository.countDeleted()).isZero();
+
+        CadastroDto recreated = cadastroService.upsertByEmail(new CadastroDto(null, "João", "joao@example.com", 30));
+        assertThat(recreated.getId()).isGreaterThan(3L);
+    }
+}
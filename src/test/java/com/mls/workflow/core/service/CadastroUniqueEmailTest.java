@@ -0,0 +1,113 @@
+package com.mls.workflow.core.service;
+
+import com.mls.workflow.config.DatabaseInitializerConfig;
+import com.mls.workflow.core.dto.CadastroDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the schema created by DatabaseInitializerConfig, so the unique e-mail index is the real one.
+ */
+@SpringBootTest(properties = {"cadastro.email.unique=true", "cadastro.delete.mode=soft", "cadastro.purge.interval=1h"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CadastroUniqueEmailTest {
+
+    @Autowired
+    private CadastroService cadastroService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void softDeletedEmail_shouldBeRegisteredAgainWhileLiveDuplicatesAreRejected() {
+        CadastroDto original = cadastroService.create(new CadastroDto(null, "Lúcia", "lucia@example.com", 40));
+        assertThatThrownBy(() -> cadastroService.create(new CadastroDto(null, "Outra Lúcia", "LUCIA@example.com", 41)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(cadastroService.delete(original.getId())).isTrue();
+        CadastroDto recreated = cadastroService.create(new CadastroDto(null, "Lúcia", "lucia@example.com", 40));
+        assertThat(recreated.getId()).isNotEqualTo(original.getId());
+
+        assertThat(cadastroService.delete(recreated.getId())).isTrue();
+        CadastroDto upserted = cadastroService.upsertByEmail(new CadastroDto(null, "Lúcia M.", "lucia@example.com", 42));
+        assertThat(upserted.getId()).isNotIn(original.getId(), recreated.getId());
+
+        CadastroDto overwritten = cadastroService.upsertByEmail(new CadastroDto(null, "Lúcia Maria", "lucia@example.com", 43));
+        assertThat(overwritten.getId()).isEqualTo(upserted.getId());
+        assertThat(cadastroService.findByEmail("lucia@example.com")).get().extracting(CadastroDto::getNome).isEqualTo("Lúcia Maria");
+    }
+
+    @Test
+    void concurrentUpsertOfANewEmail_shouldUpdateTheRowInsertedFirst() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch upsertStarted = new CountDownLatch(1);
+        CompletableFuture<CadastroDto> first = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    CadastroDto created = cadastroService.create(new CadastroDto(null, "Caio", "caio@example.com", 30));
+                    inserted.countDown();
+                    try {
+                        // Hold the uncommitted insert until the upsert has run into its key.
+                        upsertStarted.await(5, TimeUnit.SECONDS);
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return created;
+                }));
+        assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<CadastroDto> second = CompletableFuture.supplyAsync(() -> {
+            upsertStarted.countDown();
+            return cadastroService.upsertByEmail(new CadastroDto(null, "Caio R.", "caio@example.com", 31));
+        });
+
+        CadastroDto created = first.get(10, TimeUnit.SECONDS);
+        CadastroDto upserted = second.get(10, TimeUnit.SECONDS);
+        assertThat(upserted.getId()).isEqualTo(created.getId());
+        assertThat(cadastroService.findByEmail("caio@example.com")).get().extracting(CadastroDto::getNome).isEqualTo("Caio R.");
+    }
+
+    @Test
+    void turningTheFlagOff_shouldDropTheUniqueIndex() throws Exception {
+        try {
+            runInitializer(false);
+            assertThat(uniqueIndexExists()).isFalse();
+        } finally {
+            runInitializer(true);
+        }
+        assertThat(uniqueIndexExists()).isTrue();
+    }
+
+    private void runInitializer(boolean uniqueEmail) throws Exception {
+        DatabaseInitializerConfig initializer = new DatabaseInitializerConfig();
+        ReflectionTestUtils.setField(initializer, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(initializer, "uniqueEmail", uniqueEmail);
+        ReflectionTestUtils.setField(initializer, "schemaOwner", true);
+        initializer.run();
+    }
+
+    private boolean uniqueIndexExists() {
+        Integer indexes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'UK_AIC_CADASTRO_EMAIL_LIVE'", Integer.class);
+        return indexes != null && indexes > 0;
+    }
+}
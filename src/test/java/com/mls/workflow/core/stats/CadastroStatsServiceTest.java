@@ -0,0 +1,90 @@
+package com.mls.workflow.core.stats;
+
+import com.mls.workflow.core.dto.CadastroDto;
+import com.mls.workflow.core.dto.v1.CadastroStatsDto;
+import com.mls.workflow.core.repository.CadastroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class CadastroStatsServiceTest {
+
+    @Mock
+    private CadastroRepository cadastroRepository;
+
+    private CadastroStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<CadastroDto> consumer = invocation.getArgument(0);
+            consumer.accept(new CadastroDto(1L, "João", "joao@example.com", 30));
+            consumer.accept(new CadastroDto(2L, "Maria", "maria@Example.com ", 25));
+            consumer.accept(new CadastroDto(3L, "Ana", "ana@mail.com", 105));
+            return null;
+        }).when(cadastroRepository).forEachOrdered(any());
+
+        statsService = new CadastroStatsService(cadastroRepository);
+        statsService.rebuild();
+    }
+
+    @Test
+    void snapshot_shouldReflectTheSeedScan() {
+        CadastroStatsDto stats = statsService.snapshot(10);
+
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getFaixasIdade()).containsEntry("20-29", 1L).containsEntry("30-39", 1L).containsEntry("100+", 1L);
+        assertThat(stats.getFaixasIdade()).hasSize(11);
+        assertThat(stats.getTopDominios()).containsExactly(
+                new CadastroStatsDto.DominioDto("example.com", 2),
+                new CadastroStatsDto.DominioDto("mail.com", 1));
+    }
+
+    @Test
+    void onChange_shouldMoveTheAggregatesAndIgnoreRepeats() {
+        statsService.onChange("UPDATE", List.of(1L), List.of(new CadastroDto(1L, "João", "joao@mail.com", 41)));
+        statsService.onChange("UPDATE", List.of(1L), List.of(new CadastroDto(1L, "João", "joao@mail.com", 41)));
+        statsService.onChange("CREATE", List.of(4L, 5L), List.of(
+                new CadastroDto(4L, "Bia", "bia@mail.com", 8),
+                new CadastroDto(5L, "Caio", "caio@other.org", 60)));
+        statsService.onChange("DELETE", Arrays.asList(2L, 99L), Collections.nCopies(2, null));
+
+        CadastroStatsDto stats = statsService.snapshot(1);
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getFaixasIdade())
+                .containsEntry("0-9", 1L)
+                .containsEntry("20-29", 0L)
+                .containsEntry("30-39", 0L)
+                .containsEntry("40-49", 1L)
+                .containsEntry("60-69", 1L)
+                .containsEntry("100+", 1L);
+        assertThat(stats.getTopDominios()).containsExactly(new CadastroStatsDto.DominioDto("mail.com", 3));
+    }
+
+    @Test
+    void onChange_shouldDropDomainsWithoutRecords() {
+        statsService.onChange("DELETE", List.of(3L), Collections.singletonList(null));
+        statsService.onChange("UPDATE", List.of(1L), List.of(new CadastroDto(1L, "João", "joao@mail.com", 30)));
+
+        assertThat(statsService.snapshot(10).getTopDominios()).containsExactly(
+                new CadastroStatsDto.DominioDto("example.com", 1),
+                new CadastroStatsDto.DominioDto("mail.com", 1));
+        statsService.onChange("DELETE", List.of(1L, 2L), Collections.nCopies(2, null));
+
+        assertThat(statsService.snapshot(10).getTopDominios()).isEmpty();
+        assertThat(statsService.domainCount()).isZero();
+    }
+}
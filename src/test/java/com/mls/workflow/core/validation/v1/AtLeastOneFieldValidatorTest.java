@@ -54,5 +54,6 @@ public class AtLeastOneFieldValidatorTest {
         dto.setNome(""); // Blank string
         Set<ConstraintViolation<UpdateRequestDto>> violations = validator.validate(dto);
         assertThat(violations).hasSize(1);
+        assertThat(violations.iterator().next().getMessage()).isEqualTo("O nome não pode ser vazio.");
     }
 }
@@ -0,0 +1,114 @@
+package com.mls.workflow.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aopalliance.intercept.MethodInvocation;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.bpmn.delegate.JavaDelegateInvocation;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.runtime.ProcessInstanceWithVariables;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        PipelineContext.clear();
+    }
+
+    @Test
+    void serviceCallsAfterAProcessStart_shouldCarryItsInstanceAndOperation() throws Throwable {
+        ProcessInstanceWithVariables instance = mock(ProcessInstanceWithVariables.class);
+        when(instance.getId()).thenReturn("pi-1");
+        when(instance.getVariables()).thenReturn(Variables.createVariables().putValue("tarefa", "CREATE"));
+        MethodInvocation serviceCall = mock(MethodInvocation.class);
+        when(serviceCall.getMethod()).thenReturn(Object.class.getMethod("hashCode"));
+        when(serviceCall.proceed()).thenReturn(42);
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(ProcessStartEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(CadastroServiceEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            assertThat(ProcessStartEvent.record("DemoAIProjectCRUDProcess", "bk-1", () -> instance)).isSameAs(instance);
+            assertThat(new CadastroServiceEventInterceptor().invoke(serviceCall)).isEqualTo(42);
+
+            recording.stop();
+            Path file = directory.resolve("test.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        RecordedEvent start = single(events, "com.mls.workflow.ProcessStart");
+        assertThat(start.getString("processDefinitionKey")).isEqualTo("DemoAIProjectCRUDProcess");
+        assertThat(start.getString("processInstanceId")).isEqualTo("pi-1");
+        assertThat(start.getString("businessKey")).isEqualTo("bk-1");
+        assertThat(start.getString("operation")).isEqualTo("CREATE");
+
+        RecordedEvent call = single(events, "com.mls.workflow.CadastroServiceCall");
+        assertThat(call.getString("method")).isEqualTo("hashCode");
+        assertThat(call.getString("processInstanceId")).isEqualTo("pi-1");
+        assertThat(call.getString("operation")).isEqualTo("CREATE");
+        assertThat(call.getBoolean("failed")).isFalse();
+    }
+
+    @Test
+    void javaDelegateInvocation_shouldBeRecordedWithTheServiceTasksDelegate() throws Exception {
+        ServiceTask task = mock(ServiceTask.class);
+        when(task.getCamundaDelegateExpression()).thenReturn("${createDelegate}");
+        DelegateExecution execution = mock(DelegateExecution.class);
+        when(execution.getBpmnModelElementInstance()).thenReturn(task);
+        when(execution.getCurrentActivityId()).thenReturn("CREATETask");
+        when(execution.getProcessInstanceId()).thenReturn("pi-2");
+        when(execution.getProcessBusinessKey()).thenReturn("bk-2");
+        when(execution.getVariable("tarefa")).thenReturn("CREATE");
+        AtomicReference<PipelineContext> contextInDelegate = new AtomicReference<>();
+        FlightRecorderDelegateInterceptor interceptor = new FlightRecorderDelegateInterceptor(DelegateInvocation::proceed);
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(DelegateExecutionEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            interceptor.handleInvocation(new JavaDelegateInvocation(
+                    delegateExecution -> contextInDelegate.set(PipelineContext.current()), execution));
+
+            recording.stop();
+            Path file = directory.resolve("delegate.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        assertThat(contextInDelegate.get().processInstanceId()).isEqualTo("pi-2");
+        assertThat(PipelineContext.current()).isNull();
+        RecordedEvent event = single(events, "com.mls.workflow.DelegateExecution");
+        assertThat(event.getString("delegate")).isEqualTo("createDelegate");
+        assertThat(event.getString("activityId")).isEqualTo("CREATETask");
+        assertThat(event.getString("processInstanceId")).isEqualTo("pi-2");
+        assertThat(event.getString("operation")).isEqualTo("CREATE");
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+}
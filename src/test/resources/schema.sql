@@ -3,5 +3,20 @@ CREATE TABLE AIC_CADASTRO (
     ID BIGINT AUTO_INCREMENT PRIMARY KEY,
     NOME VARCHAR(255) NOT NULL,
     EMAIL VARCHAR(255) NOT NULL,
-    IDADE INT
+    IDADE INT,
+    EMAIL_NORM VARCHAR(255) GENERATED ALWAYS AS (LOWER(TRIM(EMAIL))),
+    DELETED_AT TIMESTAMP,
+    EMAIL_LIVE VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN DELETED_AT IS NULL THEN LOWER(TRIM(EMAIL)) END)
+);
+CREATE INDEX IDX_AIC_CADASTRO_EMAIL_NORM ON AIC_CADASTRO (EMAIL_NORM);
+CREATE INDEX IDX_AIC_CADASTRO_DELETED_AT ON AIC_CADASTRO (DELETED_AT);
+DROP TABLE IF EXISTS AIC_CADASTRO_OUTBOX;
+CREATE TABLE AIC_CADASTRO_OUTBOX (
+    SEQ BIGINT AUTO_INCREMENT PRIMARY KEY,
+    OPERACAO VARCHAR(16) NOT NULL,
+    CADASTRO_ID BIGINT NOT NULL,
+    NOME VARCHAR(255),
+    EMAIL VARCHAR(255),
+    IDADE INT,
+    CREATED_AT TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
 );
\ No newline at end of file